@@ -0,0 +1,94 @@
+package com.progressoft.clustereddatawarehouse.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.progressoft.clustereddatawarehouse.ClustereddatawarehouseApplication;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchResponseMode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.service.inter.DealService;
+
+/**
+ * End-to-end {@code DealService.createBatch} against an in-memory H2 database in PostgreSQL mode,
+ * reported in deals per second. {@code duplicateRatio} re-submits that share of already imported ids.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchIngestionBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"0.0", "0.3"})
+    private double duplicateRatio;
+
+    private final AtomicLong nextId = new AtomicLong();
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private ConfigurableApplicationContext context;
+    private DealService dealService;
+    private List<DealDtoReq> batch;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ClustereddatawarehouseApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=TIMESTAMP",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--logging.level.root=WARN"
+            );
+        dealService = context.getBean(DealService.class);
+        dealService.createBatch(BenchmarkData.deals("SEED-", BATCH_SIZE, 7), BatchResponseMode.SUMMARY);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch() {
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String id = random.nextDouble() < duplicateRatio
+                ? "SEED-" + random.nextInt(BATCH_SIZE)
+                : "FX-" + nextId.getAndIncrement();
+            batch.add(BenchmarkData.deal(id, random));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchProcessingResult createBatch() {
+        return dealService.createBatch(batch, BatchResponseMode.FULL);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+}
@@ -0,0 +1,38 @@
+package com.progressoft.clustereddatawarehouse.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+final class BenchmarkData {
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "JOD"};
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private BenchmarkData() {
+    }
+
+    static List<DealDtoReq> deals(String idPrefix, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<DealDtoReq> deals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deals.add(deal(idPrefix + i, random));
+        }
+        return deals;
+    }
+
+    static DealDtoReq deal(String id, SplittableRandom random) {
+        DealDtoReq deal = new DealDtoReq();
+        deal.setId(id);
+        deal.setFromCurrency(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+        deal.setToCurrency(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+        deal.setTimestamp(BASE_TIME.plusSeconds(random.nextInt(86_400)));
+        deal.setAmount(BigDecimal.valueOf(random.nextDouble(1, 10_000_000)).setScale(2, RoundingMode.HALF_UP));
+        return deal;
+    }
+}
@@ -0,0 +1,67 @@
+package com.progressoft.clustereddatawarehouse.benchmark;
+
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.progressoft.clustereddatawarehouse.validation.CurrencyCodes;
+
+/**
+ * Previous validation path (regex constraint, then {@code Currency.getInstance} with exception-driven
+ * rejection) against the precomputed ISO 4217 table, for a valid and an invalid code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyValidationBenchmark {
+
+    private static final Pattern ISO_CODE = Pattern.compile("^[A-Z]{3}$");
+
+    @Param({"USD", "XXQ"})
+    private String code;
+
+    @Benchmark
+    public boolean regexThenCurrencyInstance() {
+        if (!ISO_CODE.matcher(code).matches()) {
+            return false;
+        }
+        try {
+            return Currency.getInstance(code) != null;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean lookupTable() {
+        return CurrencyCodes.isValid(code);
+    }
+
+    @Benchmark
+    public Currency mapperCurrencyInstance() {
+        try {
+            return Currency.getInstance(code);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Currency mapperLookupTable() {
+        return CurrencyCodes.lookup(code);
+    }
+}
@@ -0,0 +1,94 @@
+package com.progressoft.clustereddatawarehouse.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.progressoft.clustereddatawarehouse.codec.DealBinaryCodec;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+/**
+ * Cost of turning a request body into deals: binding the whole list as {@code POST /api/deals/batch} does,
+ * versus reading one deal at a time, directly or through a tree as the streaming import does so that a
+ * malformed deal can be reported without losing its id, and versus decoding the same batch from the binary
+ * deal format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealJsonBenchmark {
+
+    @Param({"100", "10000"})
+    private int deals;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ObjectReader listReader = objectMapper.readerFor(new TypeReference<List<DealDtoReq>>() { });
+    private final ObjectReader dealReader = objectMapper.readerFor(DealDtoReq.class);
+
+    private byte[] body;
+    private byte[] binaryBody;
+
+    @Setup
+    public void setup() throws Exception {
+        List<DealDtoReq> batch = BenchmarkData.deals("FX", deals, 42);
+        body = objectMapper.writeValueAsBytes(batch);
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        DealBinaryCodec.encode(batch, binary);
+        binaryBody = binary.toByteArray();
+    }
+
+    @Benchmark
+    public List<DealDtoReq> decodeBinary() {
+        return DealBinaryCodec.decode(binaryBody);
+    }
+
+    @Benchmark
+    public List<DealDtoReq> bindList() throws Exception {
+        return listReader.readValue(body);
+    }
+
+    @Benchmark
+    public void streamDeals(Blackhole blackhole) throws Exception {
+        try (JsonParser parser = objectMapper.getFactory().createParser(new ByteArrayInputStream(body))) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                blackhole.consume(dealReader.<DealDtoReq>readValue(parser));
+            }
+        }
+    }
+
+    @Benchmark
+    public void streamDealsViaTree(Blackhole blackhole) throws Exception {
+        try (JsonParser parser = objectMapper.getFactory().createParser(new ByteArrayInputStream(body))) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode node = parser.readValueAsTree();
+                blackhole.consume(objectMapper.treeToValue(node, DealDtoReq.class));
+            }
+        }
+    }
+}
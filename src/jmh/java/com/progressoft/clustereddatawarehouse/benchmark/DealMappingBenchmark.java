@@ -0,0 +1,50 @@
+package com.progressoft.clustereddatawarehouse.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.progressoft.clustereddatawarehouse.mapper.DealMapper;
+import com.progressoft.clustereddatawarehouse.mapper.DealMapperImpl;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealMappingBenchmark {
+
+    private final DealMapper mapper = new DealMapperImpl();
+
+    private DealDtoReq request;
+    private Deal entity;
+
+    @Setup
+    public void setup() {
+        request = BenchmarkData.deals("FX", 1, 42).get(0);
+        entity = mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public Deal toEntity() {
+        return mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public DealDtoRes toResponseDto() {
+        return mapper.toResponseDto(entity);
+    }
+}
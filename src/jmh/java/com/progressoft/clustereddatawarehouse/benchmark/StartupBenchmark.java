@@ -0,0 +1,53 @@
+package com.progressoft.clustereddatawarehouse.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.progressoft.clustereddatawarehouse.ClustereddatawarehouseApplication;
+
+/**
+ * Cold start of the full application, web server included, against an in-memory H2 database, in
+ * milliseconds until the context is ready. Every fork starts one fresh JVM, so each sample includes class
+ * loading and interpretation just as a new pod does. Pass {@code -jvmArgsAppend -XX:SharedArchiveFile=...}
+ * or {@code -Dspring.aot.enabled=true} through {@code jmh.args} to compare a CDS archive or an AOT build.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"default", "deferred"})
+    private String repositoryBootstrap;
+
+    @Benchmark
+    public ConfigurableApplicationContext startup() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ClustereddatawarehouseApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=TIMESTAMP",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.data.jpa.repositories.bootstrap-mode=" + repositoryBootstrap,
+                "--logging.level.root=WARN"
+            );
+        context.close();
+        return context;
+    }
+}
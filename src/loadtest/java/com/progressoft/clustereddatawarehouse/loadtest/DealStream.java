@@ -0,0 +1,85 @@
+package com.progressoft.clustereddatawarehouse.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+/**
+ * Synthetic deal feed. Currency pairs follow a Zipf distribution with exponent {@code pairSkew}, so a few
+ * pairs dominate as in real FX flow (0 makes every pair equally likely). Amounts are log-normal and
+ * timestamps fall within the last day. A {@code duplicateRatio} share of deals repeats an id sent
+ * earlier in the run, and an {@code invalidRatio} share carries an unknown currency code.
+ */
+final class DealStream {
+
+    private static final String[] CURRENCIES =
+        {"USD", "EUR", "JPY", "GBP", "CNY", "AUD", "CAD", "CHF", "HKD", "SGD", "SEK", "JOD"};
+    private static final String INVALID_CURRENCY = "XXQ";
+
+    private final SplittableRandom random;
+    private final String idPrefix;
+    private final double duplicateRatio;
+    private final double invalidRatio;
+    private final String[][] pairs;
+    private final double[] cumulativeWeights;
+    private long sentIds;
+
+    DealStream(LoadTestOptions options) {
+        this.random = new SplittableRandom(options.seed());
+        this.idPrefix = "LT-" + System.currentTimeMillis() + "-";
+        this.duplicateRatio = options.duplicateRatio();
+        this.invalidRatio = options.invalidRatio();
+
+        List<String[]> allPairs = new ArrayList<>();
+        for (String from : CURRENCIES) {
+            for (String to : CURRENCIES) {
+                if (!from.equals(to)) {
+                    allPairs.add(new String[] {from, to});
+                }
+            }
+        }
+        this.pairs = allPairs.toArray(String[][]::new);
+        this.cumulativeWeights = new double[pairs.length];
+        double total = 0;
+        for (int rank = 0; rank < pairs.length; rank++) {
+            total += 1 / Math.pow(rank + 1, options.pairSkew());
+            cumulativeWeights[rank] = total;
+        }
+        for (int rank = 0; rank < pairs.length; rank++) {
+            cumulativeWeights[rank] /= total;
+        }
+    }
+
+    List<DealDtoReq> next(int count) {
+        List<DealDtoReq> deals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deals.add(next());
+        }
+        return deals;
+    }
+
+    DealDtoReq next() {
+        String[] pair = pair();
+        DealDtoReq deal = new DealDtoReq();
+        deal.setId(sentIds > 0 && random.nextDouble() < duplicateRatio
+            ? idPrefix + random.nextLong(sentIds)
+            : idPrefix + sentIds++);
+        deal.setFromCurrency(random.nextDouble() < invalidRatio ? INVALID_CURRENCY : pair[0]);
+        deal.setToCurrency(pair[1]);
+        deal.setTimestamp(LocalDateTime.now().minusSeconds(random.nextInt(86_400)));
+        double amount = Math.exp(10 + 2 * random.nextGaussian());
+        deal.setAmount(BigDecimal.valueOf(Math.max(amount, 0.01)).setScale(2, RoundingMode.HALF_UP));
+        return deal;
+    }
+
+    private String[] pair() {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return pairs[Math.min(index >= 0 ? index : -index - 1, pairs.length - 1)];
+    }
+}
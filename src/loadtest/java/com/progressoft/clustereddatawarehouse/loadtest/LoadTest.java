@@ -0,0 +1,219 @@
+package com.progressoft.clustereddatawarehouse.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Drives a running warehouse over HTTP at a fixed arrival rate and reports latency percentiles and
+ * throughput.
+ *
+ * <p>Requests are sent on a fixed schedule whether or not earlier responses have arrived, and each
+ * latency is measured from the time the request was scheduled to go out rather than the time it was
+ * sent. A stalled server therefore shows up as long latencies for every request that should have been
+ * sent during the stall, instead of as a pause in sending (coordinated omission).
+ */
+public final class LoadTest {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final LoadTestOptions options;
+    private final DealStream deals;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final URI uri;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.deals = new DealStream(options);
+        this.objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(options.timeout())
+            .build();
+        this.uri = URI.create(options.baseUrl() + switch (options.endpoint()) {
+            case SINGLE -> "/api/deals";
+            case BATCH -> "/api/deals/batch?mode=SUMMARY";
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadTest loadTest = new LoadTest(options);
+
+        System.out.printf("Warming up for %s at %.1f requests/s against %s%n", options.warmup(), options.rate(),
+            loadTest.uri);
+        loadTest.drive(options.warmup());
+        System.out.printf("Measuring for %s%n", options.duration());
+        Phase phase = loadTest.drive(options.duration());
+
+        phase.print(System.out, options);
+        phase.write(options.report(), options, loadTest.objectMapper);
+    }
+
+    private Phase drive(Duration duration) throws Exception {
+        Phase phase = new Phase();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long sequence = 0; ; sequence++) {
+            long scheduled = start + sequence * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            HttpRequest request = nextRequest();
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(request, scheduled, phase);
+        }
+
+        phase.awaitResponses(options.timeout().plusSeconds(5));
+        phase.elapsedNanos = System.nanoTime() - start;
+        return phase;
+    }
+
+    private HttpRequest nextRequest() throws IOException {
+        Object body = options.endpoint() == LoadTestOptions.Endpoint.BATCH
+            ? deals.next(options.batchSize())
+            : deals.next();
+        return HttpRequest.newBuilder(uri)
+            .timeout(options.timeout())
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+    }
+
+    private void send(HttpRequest request, long scheduled, Phase phase) {
+        phase.inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            phase.latencies.recordValue(Math.min(System.nanoTime() - scheduled, MAX_LATENCY_NANOS));
+            if (error != null) {
+                phase.outcomes.computeIfAbsent(error.getClass().getSimpleName(), name -> new LongAdder()).increment();
+            } else {
+                phase.outcomes.computeIfAbsent(String.valueOf(response.statusCode()), name -> new LongAdder())
+                    .increment();
+                phase.countDeals(response, options, objectMapper);
+            }
+            phase.inFlight.decrementAndGet();
+        });
+    }
+
+    private static final class Phase {
+
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        private final LongAdder storedDeals = new LongAdder();
+        private final LongAdder failedDeals = new LongAdder();
+        private final AtomicLong inFlight = new AtomicLong();
+        private long elapsedNanos;
+
+        void countDeals(HttpResponse<String> response, LoadTestOptions options, ObjectMapper objectMapper) {
+            if (options.endpoint() == LoadTestOptions.Endpoint.SINGLE) {
+                (response.statusCode() == 201 ? storedDeals : failedDeals).increment();
+                return;
+            }
+            if (response.statusCode() != 200) {
+                failedDeals.add(options.batchSize());
+                return;
+            }
+            try {
+                JsonNode summary = objectMapper.readTree(response.body());
+                storedDeals.add(summary.path("successfulDeals").asLong());
+                failedDeals.add(summary.path("failedDeals").asLong());
+            } catch (IOException ex) {
+                failedDeals.add(options.batchSize());
+            }
+        }
+
+        void awaitResponses(Duration timeout) {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+
+        Map<String, Long> outcomeCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+            return counts;
+        }
+
+        double seconds() {
+            return elapsedNanos / 1e9;
+        }
+
+        double millis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1e6;
+        }
+
+        void print(PrintStream out, LoadTestOptions options) {
+            out.printf("%nRequests   %,d in %.1f s (%.1f/s, target %.1f/s)%n", latencies.getTotalCount(), seconds(),
+                latencies.getTotalCount() / seconds(), options.rate());
+            out.printf("Deals      %,d stored, %,d rejected (%.0f stored/s)%n", storedDeals.sum(), failedDeals.sum(),
+                storedDeals.sum() / seconds());
+            out.printf("Outcomes   %s%n", outcomeCounts());
+            out.printf("Latency ms p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n", millis(50), millis(90),
+                millis(99), millis(99.9), latencies.getMaxValue() / 1e6);
+        }
+
+        void write(Path report, LoadTestOptions options, ObjectMapper objectMapper) throws IOException {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("endpoint", options.endpoint());
+            summary.put("targetRate", options.rate());
+            summary.put("batchSize", options.dealsPerRequest());
+            summary.put("duplicateRatio", options.duplicateRatio());
+            summary.put("invalidRatio", options.invalidRatio());
+            summary.put("pairSkew", options.pairSkew());
+            summary.put("seconds", seconds());
+            summary.put("requests", latencies.getTotalCount());
+            summary.put("requestsPerSecond", latencies.getTotalCount() / seconds());
+            summary.put("storedDeals", storedDeals.sum());
+            summary.put("rejectedDeals", failedDeals.sum());
+            summary.put("storedDealsPerSecond", storedDeals.sum() / seconds());
+            summary.put("outcomes", outcomeCounts());
+            summary.put("p50Millis", millis(50));
+            summary.put("p90Millis", millis(90));
+            summary.put("p99Millis", millis(99));
+            summary.put("p999Millis", millis(99.9));
+            summary.put("maxMillis", latencies.getMaxValue() / 1e6);
+
+            Path directory = report.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), summary);
+            Path distribution = directory.resolve(report.getFileName().toString().replaceFirst("\\.json$", "") + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+                latencies.outputPercentileDistribution(out, 1e6);
+            }
+            System.out.printf("Report written to %s and %s%n", report, distribution);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.progressoft.clustereddatawarehouse.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ */
+record LoadTestOptions(
+    String baseUrl,
+    Endpoint endpoint,
+    double rate,
+    Duration warmup,
+    Duration duration,
+    int batchSize,
+    double duplicateRatio,
+    double invalidRatio,
+    double pairSkew,
+    long seed,
+    Duration timeout,
+    Path report
+) {
+
+    private static final Set<String> KNOWN = Set.of("base-url", "endpoint", "rate", "warmup", "duration",
+        "batch-size", "duplicate-ratio", "invalid-ratio", "pair-skew", "seed", "timeout", "report");
+
+    enum Endpoint {
+        SINGLE,
+        BATCH
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+            values.getOrDefault("base-url", "http://localhost:8082"),
+            Endpoint.valueOf(values.getOrDefault("endpoint", "batch").toUpperCase()),
+            Double.parseDouble(values.getOrDefault("rate", "20")),
+            DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+            DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+            Integer.parseInt(values.getOrDefault("batch-size", "1000")),
+            Double.parseDouble(values.getOrDefault("duplicate-ratio", "0.05")),
+            Double.parseDouble(values.getOrDefault("invalid-ratio", "0.01")),
+            Double.parseDouble(values.getOrDefault("pair-skew", "1.1")),
+            Long.parseLong(values.getOrDefault("seed", "42")),
+            DurationStyle.detectAndParse(values.getOrDefault("timeout", "30s")),
+            Path.of(values.getOrDefault("report", "target/loadtest/report.json"))
+        );
+        values.keySet().removeAll(KNOWN);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        return options;
+    }
+
+    int dealsPerRequest() {
+        return endpoint == Endpoint.BATCH ? batchSize : 1;
+    }
+}
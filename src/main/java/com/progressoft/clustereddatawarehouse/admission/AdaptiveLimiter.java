@@ -0,0 +1,82 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.progressoft.clustereddatawarehouse.config.AdmissionProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Concurrency limit for one class of deal requests, adjusted like Netflix's Gradient2 limiter. After every
+ * request the limit moves towards {@code limit * gradient + sqrt(limit)}, with the gradient taken from
+ * {@link RepositoryLatency}. While the database keeps its usual speed, the square root lets a busy limit
+ * probe upwards. Once it slows down, the limit shrinks until admitted requests stop queueing for connections.
+ */
+public class AdaptiveLimiter {
+
+    private final RepositoryLatency repositoryLatency;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private volatile double limit;
+
+    public AdaptiveLimiter(String name, AdmissionProperties.Limit properties, double smoothing,
+                           RepositoryLatency repositoryLatency, MeterRegistry meterRegistry) {
+        this.repositoryLatency = repositoryLatency;
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+        this.rejected = Counter.builder("deals.admission.rejected")
+            .description("Deal requests rejected over the concurrency limit")
+            .tag("class", name)
+            .register(meterRegistry);
+        Gauge.builder("deals.admission.limit", this, AdaptiveLimiter::limit)
+            .description("Current concurrency limit")
+            .tag("class", name)
+            .register(meterRegistry);
+        Gauge.builder("deals.admission.inflight", inFlight, AtomicInteger::get)
+            .description("Deal requests currently admitted")
+            .tag("class", name)
+            .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit()) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        adjust(inFlight.getAndDecrement());
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void adjust(int inFlightBeforeRelease) {
+        double gradient = repositoryLatency.gradient();
+        if (gradient >= 1.0 && inFlightBeforeRelease < limit / 2) {
+            // Far below the limit there is no evidence that a higher one would hold.
+            return;
+        }
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,53 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddatawarehouse.config.AdmissionProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Puts adaptive concurrency limits in front of single and batch deal writes, on whichever web stack runs.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "warehouse.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfiguration {
+
+    @Bean
+    public RepositoryLatency repositoryLatency(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        return new RepositoryLatency(properties, meterRegistry);
+    }
+
+    @Bean
+    public RepositoryLatencyAspect repositoryLatencyAspect(RepositoryLatency repositoryLatency) {
+        return new RepositoryLatencyAspect(repositoryLatency);
+    }
+
+    @Bean
+    public AdmissionControl admissionControl(AdmissionProperties properties, RepositoryLatency repositoryLatency,
+                                             MeterRegistry meterRegistry, ObjectMapper objectMapper)
+        throws JsonProcessingException {
+        return new AdmissionControl(properties, repositoryLatency, meterRegistry, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionControl admissionControl) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(
+            new AdmissionFilter(admissionControl));
+        registration.addUrlPatterns("/api/deals", "/api/deals/batch");
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveAdmissionFilter reactiveAdmissionFilter(AdmissionControl admissionControl) {
+        return new ReactiveAdmissionFilter(admissionControl);
+    }
+}
@@ -0,0 +1,63 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import java.util.Map;
+
+import org.springframework.http.HttpMethod;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddatawarehouse.config.AdmissionProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Picks the {@link AdaptiveLimiter} for a request and holds the rejection response shared by the servlet and
+ * the reactive filter.
+ */
+public class AdmissionControl {
+
+    private static final String REJECTED_MESSAGE = "Too many concurrent deal requests, retry later";
+
+    private final AdaptiveLimiter single;
+    private final AdaptiveLimiter batch;
+    private final int rejectionStatus;
+    private final String retryAfterSeconds;
+    private final byte[] rejectionBody;
+
+    public AdmissionControl(AdmissionProperties properties, RepositoryLatency repositoryLatency,
+                            MeterRegistry meterRegistry, ObjectMapper objectMapper) throws JsonProcessingException {
+        this.single = new AdaptiveLimiter("single", properties.getSingle(), properties.getSmoothing(),
+            repositoryLatency, meterRegistry);
+        this.batch = new AdaptiveLimiter("batch", properties.getBatch(), properties.getSmoothing(),
+            repositoryLatency, meterRegistry);
+        this.rejectionStatus = properties.getRejectionStatus();
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000));
+        this.rejectionBody = objectMapper.writeValueAsBytes(Map.of("error", REJECTED_MESSAGE));
+    }
+
+    /**
+     * Returns the limiter guarding {@code method path}, or {@code null} when the request is not limited.
+     */
+    public AdaptiveLimiter limiterFor(String method, String path) {
+        if (!HttpMethod.POST.matches(method)) {
+            return null;
+        }
+        return switch (path) {
+            case "/api/deals" -> single;
+            case "/api/deals/batch" -> batch;
+            default -> null;
+        };
+    }
+
+    public int rejectionStatus() {
+        return rejectionStatus;
+    }
+
+    public String retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public byte[] rejectionBody() {
+        return rejectionBody.clone();
+    }
+}
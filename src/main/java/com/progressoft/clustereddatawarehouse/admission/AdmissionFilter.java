@@ -0,0 +1,45 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Admits deal writes on the servlet stack before their body is read, and answers the rest at once.
+ */
+@RequiredArgsConstructor
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        AdaptiveLimiter limiter = admissionControl.limiterFor(request.getMethod(),
+            request.getRequestURI().substring(request.getContextPath().length()));
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            response.setStatus(admissionControl.rejectionStatus());
+            response.setHeader(HttpHeaders.RETRY_AFTER, admissionControl.retryAfterSeconds());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(admissionControl.rejectionBody());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release();
+        }
+    }
+}
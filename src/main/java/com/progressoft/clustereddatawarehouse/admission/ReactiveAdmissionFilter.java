@@ -0,0 +1,40 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Admits deal writes on the reactive stack before their body is read, and answers the rest at once.
+ */
+@RequiredArgsConstructor
+public class ReactiveAdmissionFilter implements WebFilter {
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        AdaptiveLimiter limiter = admissionControl.limiterFor(request.getMethod().name(),
+            request.getPath().pathWithinApplication().value());
+        if (limiter == null) {
+            return chain.filter(exchange);
+        }
+        if (!limiter.tryAcquire()) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatusCode.valueOf(admissionControl.rejectionStatus()));
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, admissionControl.retryAfterSeconds());
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(admissionControl.rejectionBody())));
+        }
+        return chain.filter(exchange).doFinally(signal -> limiter.release());
+    }
+}
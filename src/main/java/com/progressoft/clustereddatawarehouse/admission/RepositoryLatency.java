@@ -0,0 +1,56 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.progressoft.clustereddatawarehouse.config.AdmissionProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Turns {@code DealRepository} call latencies into one congestion signal. Every call is compared with the
+ * usual latency of its own method, so id lookups and thousand-row inserts can be mixed. {@link #gradient()}
+ * stays at 1 while calls run within the tolerance of their usual speed and drops to 0.5 as they slow down.
+ */
+public class RepositoryLatency {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final Map<Method, Baseline> baselines = new ConcurrentHashMap<>();
+    private final double tolerance;
+    private final double baselineWeight;
+    private final double recentWeight;
+    private double slowdown = 1.0;
+
+    public RepositoryLatency(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.tolerance = properties.getTolerance();
+        this.baselineWeight = 1.0 / properties.getBaselineWindow();
+        this.recentWeight = 1.0 / properties.getRecentWindow();
+        Gauge.builder("deals.admission.gradient", this, RepositoryLatency::gradient)
+            .description("Usual over recent repository latency, scaled by the tolerance and capped at 1")
+            .register(meterRegistry);
+    }
+
+    public void record(Method method, long nanos) {
+        double ratio = nanos / baselines.computeIfAbsent(method, key -> new Baseline()).update(nanos, baselineWeight);
+        synchronized (this) {
+            slowdown += recentWeight * (ratio - slowdown);
+        }
+    }
+
+    public synchronized double gradient() {
+        return Math.max(MIN_GRADIENT, Math.min(1.0, tolerance / slowdown));
+    }
+
+    private static final class Baseline {
+
+        private double nanos;
+
+        synchronized double update(long sample, double weight) {
+            nanos = nanos == 0 ? Math.max(sample, 1) : nanos + weight * (sample - nanos);
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feeds the latency of every {@code DealRepository} call, failed ones included, to {@link RepositoryLatency}.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class RepositoryLatencyAspect {
+
+    private final RepositoryLatency repositoryLatency;
+
+    @Around("this(com.progressoft.clustereddatawarehouse.repositorie.DealRepository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            repositoryLatency.record(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                System.nanoTime() - started);
+        }
+    }
+}
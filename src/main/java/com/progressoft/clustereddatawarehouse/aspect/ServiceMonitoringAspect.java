@@ -1,52 +1,104 @@
 package com.progressoft.clustereddatawarehouse.aspect;
 
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import com.progressoft.clustereddatawarehouse.config.MonitoringProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Times every service call into the {@code deals.service.calls} timer, tagged by class, method and
+ * exception. Arguments are never rendered with {@code toString()}: sampled and slow calls are logged with
+ * a size summary only, so a call carrying a large batch costs the same to monitor as any other.
+ */
 @Aspect
 @Component
 @Slf4j
 public class ServiceMonitoringAspect {
 
-    private static final String COLOR_INFO = "\u001B[34m";
-    private static final String COLOR_WARN = "\u001B[35m";
-    private static final String COLOR_ERR = "\u001B[31m";
-    private static final String COLOR_RESET = "\u001B[0m";
+    static final String TIMER_NAME = "deals.service.calls";
+    private static final String NO_EXCEPTION = "none";
+    private static final int MAX_LOGGED_STRING = 64;
+
+    private final MeterRegistry meterRegistry;
+    private final int logSampleRate;
+    private final long slowCallNanos;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
 
-    @Before("execution(* com.progressoft.clustereddatawarehouse.service.impl.*.*(..))")
-    public void onMethodEntry(JoinPoint joinPoint) {
-        String method = joinPoint.getSignature().toShortString();
-        Object[] parameters = joinPoint.getArgs();
+    public ServiceMonitoringAspect(MeterRegistry meterRegistry, MonitoringProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.logSampleRate = properties.getLogSampleRate();
+        this.slowCallNanos = properties.getSlowCallThreshold().toNanos();
+    }
+
+    @Around("execution(* com.progressoft.clustereddatawarehouse.service.impl.*.*(..))")
+    public Object monitor(ProceedingJoinPoint joinPoint) throws Throwable {
+        long started = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Timer timer = failure == null
+                ? successTimers.computeIfAbsent(method, key -> timer(key, NO_EXCEPTION))
+                : timer(method, failure.getClass().getSimpleName());
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
 
-        log.info("{}[AOP] Entering: {}{}", COLOR_INFO, method, COLOR_RESET);
-        for (int index = 0; index < parameters.length; index++) {
-            log.debug("{}[AOP] --> Arg {}: {}{}", COLOR_WARN, index + 1, parameters[index], COLOR_RESET);
+            if (elapsed > slowCallNanos) {
+                log.warn("Slow call {} took {} ms with ({})", joinPoint.getSignature().toShortString(),
+                    elapsed / 1_000_000, summarize(joinPoint.getArgs()), failure);
+            } else if (log.isDebugEnabled() && logSampleRate > 0 && calls.incrementAndGet() % logSampleRate == 0) {
+                log.debug("Sampled call {} took {} us with ({})", joinPoint.getSignature().toShortString(),
+                    elapsed / 1_000, summarize(joinPoint.getArgs()), failure);
+            }
         }
     }
 
-    @AfterReturning(
-        pointcut = "execution(* com.progressoft.clustereddatawarehouse.service.impl.*.*(..))",
-        returning = "output"
-    )
-    public void onMethodSuccess(JoinPoint joinPoint, Object output) {
-        String method = joinPoint.getSignature().toShortString();
-        log.info("{}[AOP] Completed: {}{}", COLOR_INFO, method, COLOR_RESET);
-        log.debug("[AOP] --> Result: {}", output);
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(TIMER_NAME)
+            .description("Latency of service layer calls")
+            .tag("class", method.getDeclaringClass().getSimpleName())
+            .tag("method", method.getName())
+            .tag("exception", exception)
+            .register(meterRegistry);
     }
 
-    @AfterThrowing(
-        pointcut = "execution(* com.progressoft.clustereddatawarehouse.service.impl.*.*(..))",
-        throwing = "ex"
-    )
-    public void onMethodException(JoinPoint joinPoint, Throwable ex) {
-        String method = joinPoint.getSignature().toShortString();
-        log.error("{}[AOP ERROR] Exception in: {}{}", COLOR_ERR, method, COLOR_RESET);
-        log.error("[AOP ERROR] --> Message: {}", ex.getMessage(), ex);
+    static String summarize(Object[] arguments) {
+        StringBuilder summary = new StringBuilder();
+        for (Object argument : arguments) {
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            if (argument == null) {
+                summary.append("null");
+            } else if (argument instanceof Collection<?> collection) {
+                summary.append(argument.getClass().getSimpleName()).append("[size=").append(collection.size()).append(']');
+            } else if (argument instanceof CharSequence text) {
+                summary.append(text.length() > MAX_LOGGED_STRING ? text.subSequence(0, MAX_LOGGED_STRING) + "..." : text);
+            } else if (argument instanceof Number || argument instanceof Enum<?>) {
+                summary.append(argument);
+            } else {
+                summary.append(argument.getClass().getSimpleName());
+            }
+        }
+        return summary.toString();
     }
 }
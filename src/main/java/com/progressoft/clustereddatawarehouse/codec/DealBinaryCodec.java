@@ -0,0 +1,171 @@
+package com.progressoft.clustereddatawarehouse.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import com.progressoft.clustereddatawarehouse.exception.MalformedDealBatchException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.validation.CurrencyCodes;
+
+/**
+ * Fixed-layout binary encoding of a deal batch, big-endian:
+ * <pre>
+ * header  magic "FXD1" (4 bytes) | record count (int32)
+ * record  id length (uint16) | id (UTF-8) | from currency (3 ASCII bytes) | to currency (3 ASCII bytes)
+ *         | timestamp as UTC epoch nanos (int64) | amount unscaled value (int64) | amount scale (uint8)
+ * </pre>
+ * Decoding reads the buffer in place; known currency codes resolve to the JDK's interned code strings, so
+ * only the id is copied out of the buffer.
+ */
+public final class DealBinaryCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.warehouse.deals+binary";
+
+    private static final int MAGIC = 'F' << 24 | 'X' << 16 | 'D' << 8 | '1';
+    private static final int HEADER_SIZE = 8;
+    private static final int FIXED_RECORD_SIZE = 2 + 3 + 3 + 8 + 8 + 1;
+    private static final int CURRENCY_SIZE = 3;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private DealBinaryCodec() {
+    }
+
+    public static List<DealDtoReq> decode(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        try {
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new MalformedDealBatchException("Not a binary deal batch");
+            }
+            int count = buffer.getInt();
+            if (count < 0 || (long) count * FIXED_RECORD_SIZE > buffer.remaining()) {
+                throw new MalformedDealBatchException("Invalid record count " + count);
+            }
+            List<DealDtoReq> deals = new ArrayList<>(count);
+            for (int record = 0; record < count; record++) {
+                deals.add(decodeRecord(buffer));
+            }
+            if (buffer.hasRemaining()) {
+                throw new MalformedDealBatchException(buffer.remaining() + " trailing bytes after " + count + " records");
+            }
+            return deals;
+        } catch (BufferUnderflowException ex) {
+            throw new MalformedDealBatchException("Truncated binary deal batch");
+        }
+    }
+
+    public static void encode(List<DealDtoReq> deals, OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeInt(deals.size());
+        for (DealDtoReq deal : deals) {
+            writeRecord(data, deal);
+        }
+        data.flush();
+    }
+
+    /**
+     * Encodes a single deal as one record of the batch layout, without the batch header.
+     */
+    public static byte[] encodeRecord(DealDtoReq deal) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(FIXED_RECORD_SIZE + deal.getId().length());
+        try {
+            writeRecord(new DataOutputStream(bytes), deal);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static DealDtoReq decodeRecord(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        try {
+            DealDtoReq deal = decodeRecord(buffer);
+            if (buffer.hasRemaining()) {
+                throw new MalformedDealBatchException(buffer.remaining() + " trailing bytes after deal record");
+            }
+            return deal;
+        } catch (BufferUnderflowException ex) {
+            throw new MalformedDealBatchException("Truncated deal record");
+        }
+    }
+
+    private static void writeRecord(DataOutputStream data, DealDtoReq deal) throws IOException {
+        byte[] id = deal.getId().getBytes(StandardCharsets.UTF_8);
+        if (id.length > 0xFFFF) {
+            throw new MalformedDealBatchException("Deal id longer than 65535 bytes");
+        }
+        data.writeShort(id.length);
+        data.write(id);
+        writeCurrency(data, deal.getFromCurrency());
+        writeCurrency(data, deal.getToCurrency());
+        data.writeLong(toEpochNanos(deal.getTimestamp()));
+        BigDecimal amount = deal.getAmount().scale() < 0 ? deal.getAmount().setScale(0) : deal.getAmount();
+        if (amount.scale() > 0xFF) {
+            throw new MalformedDealBatchException("Amount scale above 255: " + amount);
+        }
+        if (amount.unscaledValue().bitLength() > 63) {
+            throw new MalformedDealBatchException("Amount does not fit a scaled long: " + amount);
+        }
+        data.writeLong(amount.unscaledValue().longValue());
+        data.writeByte(amount.scale());
+    }
+
+    private static DealDtoReq decodeRecord(ByteBuffer buffer) {
+        int idLength = Short.toUnsignedInt(buffer.getShort());
+        if (idLength > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String id = new String(buffer.array(), buffer.position(), idLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + idLength);
+
+        DealDtoReq deal = new DealDtoReq();
+        deal.setId(id);
+        deal.setFromCurrency(readCurrency(buffer));
+        deal.setToCurrency(readCurrency(buffer));
+        deal.setTimestamp(fromEpochNanos(buffer.getLong()));
+        long unscaled = buffer.getLong();
+        deal.setAmount(BigDecimal.valueOf(unscaled, Byte.toUnsignedInt(buffer.get())));
+        return deal;
+    }
+
+    private static String readCurrency(ByteBuffer buffer) {
+        int offset = buffer.position();
+        if (buffer.remaining() < CURRENCY_SIZE) {
+            throw new BufferUnderflowException();
+        }
+        buffer.position(offset + CURRENCY_SIZE);
+        Currency currency = CurrencyCodes.lookup(buffer, offset);
+        return currency != null
+            ? currency.getCurrencyCode()
+            : new String(buffer.array(), offset, CURRENCY_SIZE, StandardCharsets.US_ASCII);
+    }
+
+    private static void writeCurrency(DataOutputStream data, String code) throws IOException {
+        if (code == null || code.length() != CURRENCY_SIZE) {
+            throw new MalformedDealBatchException("Currency code must be 3 characters: " + code);
+        }
+        data.writeBytes(code);
+    }
+
+    private static LocalDateTime fromEpochNanos(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+            (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static long toEpochNanos(LocalDateTime timestamp) {
+        return Math.addExact(Math.multiplyExact(timestamp.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+            timestamp.getNano());
+    }
+}
@@ -0,0 +1,73 @@
+package com.progressoft.clustereddatawarehouse.codec;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.exception.MalformedDealBatchException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+/**
+ * Reads and writes {@code List<DealDtoReq>} bodies in the {@link DealBinaryCodec} format, so batch endpoints
+ * accept it next to JSON depending on the request content type.
+ */
+@Component
+public class DealBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<DealDtoReq>> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(DealBinaryCodec.MEDIA_TYPE_VALUE);
+
+    public DealBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isDealList(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (type == null ? List.class.isAssignableFrom(clazz) : isDealList(type)) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<DealDtoReq> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+        throws IOException, HttpMessageNotReadableException {
+        return readInternal(null, inputMessage);
+    }
+
+    @Override
+    protected List<DealDtoReq> readInternal(Class<? extends List<DealDtoReq>> clazz, HttpInputMessage inputMessage)
+        throws IOException, HttpMessageNotReadableException {
+        try {
+            return DealBinaryCodec.decode(inputMessage.getBody().readAllBytes());
+        } catch (MalformedDealBatchException ex) {
+            throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(List<DealDtoReq> deals, Type type, HttpOutputMessage outputMessage)
+        throws IOException, HttpMessageNotWritableException {
+        try {
+            DealBinaryCodec.encode(deals, outputMessage.getBody());
+        } catch (MalformedDealBatchException ex) {
+            throw new HttpMessageNotWritableException(ex.getMessage(), ex);
+        }
+    }
+
+    private static boolean isDealList(Type type) {
+        return type instanceof ParameterizedType parameterized
+            && parameterized.getRawType() == List.class
+            && parameterized.getActualTypeArguments()[0] == DealDtoReq.class;
+    }
+}
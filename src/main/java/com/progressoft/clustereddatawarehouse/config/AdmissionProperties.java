@@ -0,0 +1,71 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.admission")
+public class AdmissionProperties {
+
+    /**
+     * Whether single and batch deal writes pass through adaptive concurrency limits.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Status sent to requests over the limit, 503 or 429.
+     */
+    private int rejectionStatus = 503;
+
+    /**
+     * Retry-After sent with a rejection, rounded up to whole seconds.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * How much slower than usual repository calls may run before the limits shrink; 1.5 tolerates 50%.
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * Calls per repository method averaged into that method's usual latency.
+     */
+    private int baselineWindow = 600;
+
+    /**
+     * Recent repository calls averaged into the current slowdown.
+     */
+    private int recentWindow = 20;
+
+    /**
+     * Weight of each new limit estimate; lower values move the limits slower but steadier.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Concurrent {@code POST /api/deals} requests.
+     */
+    private Limit single = new Limit(64, 4, 512);
+
+    /**
+     * Concurrent {@code POST /api/deals/batch} requests.
+     */
+    private Limit batch = new Limit(10, 1, 64);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+    }
+}
@@ -0,0 +1,25 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.dedup-filter")
+public class DedupFilterProperties {
+
+    /**
+     * When disabled every create falls back to a database duplicate check.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of deal ids the filter is sized for; the false-positive rate degrades past this.
+     */
+    private long expectedInsertions = 10_000_000;
+
+    /**
+     * Target false-positive rate at {@link #expectedInsertions}.
+     */
+    private double falsePositiveRate = 0.01;
+}
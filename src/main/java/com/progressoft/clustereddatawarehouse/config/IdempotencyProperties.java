@@ -0,0 +1,32 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Honour the Idempotency-Key header on create and batch requests; when false the header is ignored.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a response stays available for retries with the same key.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Upper bound on retained responses, counted in deals, so a few huge batches cannot exhaust the heap.
+     */
+    private long maxRetainedDeals = 1_000_000;
+
+    /**
+     * Longest accepted key.
+     */
+    private int maxKeyLength = 255;
+}
@@ -0,0 +1,42 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.imports")
+public class ImportJobProperties {
+
+    /**
+     * Import jobs executed concurrently; each holds at most one database connection at a time.
+     */
+    private int workers = 2;
+
+    /**
+     * Submitted jobs allowed to wait for a worker before new submissions are rejected.
+     */
+    private int queueCapacity = 16;
+
+    /**
+     * How long finished jobs stay available for status polling.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * How often finished jobs past their retention are evicted.
+     */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    /**
+     * Failed deals whose errors are kept per job; later failures are only counted.
+     */
+    private int maxRetainedErrors = 1000;
+
+    /**
+     * Upper bound for the long-poll wait a client may request.
+     */
+    private Duration maxWait = Duration.ofSeconds(60);
+}
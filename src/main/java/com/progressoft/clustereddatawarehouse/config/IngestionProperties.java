@@ -0,0 +1,25 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.ingestion")
+public class IngestionProperties {
+
+    /**
+     * Number of deals checked for duplicates and inserted per round trip.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Number of partitions a batch is split into and worker threads processing them; 1 keeps batches sequential.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Partition tasks allowed to wait for a worker before submitters run them on their own thread.
+     */
+    private int queueCapacity = 64;
+}
@@ -0,0 +1,39 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.journal")
+public class JournalProperties {
+
+    /**
+     * Whether single-deal creates are acknowledged once written to the local journal and persisted asynchronously.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the journal segments and the replay checkpoint.
+     */
+    private Path directory = Path.of("data", "journal");
+
+    /**
+     * Size of each memory-mapped segment file.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Most journaled deals replayed into the database per insert.
+     */
+    private int replayBatchSize = 1000;
+
+    /**
+     * Delay between replay runs; a failed replay is retried after the same delay.
+     */
+    private Duration replayInterval = Duration.ofMillis(100);
+}
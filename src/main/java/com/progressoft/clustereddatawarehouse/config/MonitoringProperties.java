@@ -0,0 +1,22 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.monitoring")
+public class MonitoringProperties {
+
+    /**
+     * One in this many service calls is logged at DEBUG with a summary of its arguments; 0 disables sampling.
+     */
+    private int logSampleRate = 1000;
+
+    /**
+     * Service calls taking longer than this are always logged at WARN.
+     */
+    private Duration slowCallThreshold = Duration.ofSeconds(1);
+}
@@ -0,0 +1,25 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.partitioning")
+public class PartitioningProperties {
+
+    /**
+     * Whether monthly partitions of the deals table are created ahead of time on PostgreSQL.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of months after the current one that always have a partition.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * When partitions are topped up, in addition to application startup.
+     */
+    private String cron = "0 0 3 * * *";
+}
@@ -0,0 +1,25 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.reactive")
+public class ReactiveProperties {
+
+    /**
+     * Threads running the blocking database work of reactive requests; keep it at the connection pool size.
+     */
+    private int workerThreads = 10;
+
+    /**
+     * Tasks allowed to wait for a worker before requests are rejected with 503.
+     */
+    private int queuedTasks = 1000;
+
+    /**
+     * Request body buffers read ahead of a blocking import.
+     */
+    private int bodyPrefetch = 16;
+}
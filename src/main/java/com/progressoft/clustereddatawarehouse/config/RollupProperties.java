@@ -0,0 +1,17 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.rollups")
+public class RollupProperties {
+
+    /**
+     * How often buffered rollup deltas are merged into the deal_rollups table.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
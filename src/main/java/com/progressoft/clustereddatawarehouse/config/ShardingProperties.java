@@ -0,0 +1,44 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.sharding")
+public class ShardingProperties {
+
+    /**
+     * Whether deals are spread over {@link #shards} instead of the single spring.datasource.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Points each shard owns on the consistent-hash ring; more points spread ids more evenly.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Shard databases, in a fixed order: a shard's position is its identity on the ring, and the first shard
+     * also holds the rollups.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Connections pooled for this shard.
+         */
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,37 @@
+package com.progressoft.clustereddatawarehouse.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "warehouse.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Whether single-deal creates are queued and committed in groups instead of one transaction each.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Most deals committed together in one batched insert.
+     */
+    private int maxGroupSize = 500;
+
+    /**
+     * How long the committer waits for more deals after the first one of a group arrives.
+     */
+    private Duration maxDelay = Duration.ofMillis(2);
+
+    /**
+     * Deals allowed to wait for the committer before new creates are rejected.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * How long a create waits for its group to commit before it is rejected as overloaded.
+     */
+    private Duration commitTimeout = Duration.ofSeconds(10);
+}
@@ -1,54 +1,155 @@
 package com.progressoft.clustereddatawarehouse.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddatawarehouse.codec.DealBinaryCodec;
+import com.progressoft.clustereddatawarehouse.idempotency.IdempotencyStore;
 import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchResponseMode;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPage;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPageOrder;
+import com.progressoft.clustereddatawarehouse.model.dto.DealStats;
+import com.progressoft.clustereddatawarehouse.model.dto.ExportFormat;
+import com.progressoft.clustereddatawarehouse.model.dto.StatsGranularity;
+import com.progressoft.clustereddatawarehouse.service.inter.DealExportService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportService;
 import com.progressoft.clustereddatawarehouse.service.inter.DealService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealStatsService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
 @RestController
+@Profile("!reactive")
 @RequestMapping(path = "/api/deals")
 @Tag(name = "FX Deals", description = "Foreign Exchange Deals Management")
 public class DealController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+    private static final MediaType ARROW_STREAM = MediaType.parseMediaType("application/vnd.apache.arrow.stream");
+
     private final DealService dealService;
+    private final DealImportService dealImportService;
+    private final DealExportService dealExportService;
+    private final DealStatsService dealStatsService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
-    @Operation(summary = "Create a single FX deal", description = "Creates and persists a single foreign exchange deal")
+    @Operation(summary = "Create a single FX deal", description = "Creates and persists a single foreign exchange deal; a retry with the same Idempotency-Key returns the first response")
     @PostMapping
-    public ResponseEntity<DealDtoRes> create(@Valid @RequestBody DealDtoReq dealDtoReq) {
+    public ResponseEntity<DealDtoRes> create(
+        @Valid @RequestBody DealDtoReq dealDtoReq,
+        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
         return new ResponseEntity<>(
-            dealService.create(dealDtoReq),
+            idempotencyStore.execute("create", idempotencyKey, dealDtoReq, 1, () -> dealService.create(dealDtoReq)),
             HttpStatus.CREATED
         );
     }
 
-    @Operation(summary = "Batch process multiple FX deals", description = "Processes multiple deals at once with no rollback policy")
-    @PostMapping("/batch")
-    public ResponseEntity<BatchProcessingResult> createBatch(@Valid @RequestBody List<DealDtoReq> dealRequests) {
+    @Operation(summary = "Batch process multiple FX deals", description = "Processes multiple deals at once with no rollback policy; accepts JSON or the compact binary deal format. mode=FAILURES leaves out the stored deals, mode=SUMMARY returns counts only. A retry with the same Idempotency-Key returns the first response")
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, DealBinaryCodec.MEDIA_TYPE_VALUE})
+    public ResponseEntity<BatchProcessingResult> createBatch(
+        @RequestBody List<DealDtoReq> dealRequests,
+        @RequestParam(defaultValue = "FULL") BatchResponseMode mode,
+        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
         return new ResponseEntity<>(
-            dealService.createBatch(dealRequests),
+            idempotencyStore.execute("batch", idempotencyKey, List.of(mode, dealRequests), dealRequests.size(),
+                () -> dealService.createBatch(dealRequests, mode)),
             HttpStatus.OK
         );
     }
 
-    @Operation(summary = "Get all deals", description = "Retrieves all persisted FX deals")
+    @Operation(summary = "Stream-import FX deals", description = "Imports a JSON array or NDJSON stream of deals in bounded chunks and streams one NDJSON outcome per deal")
+    @PostMapping(
+        path = "/batch/stream",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> importStream(HttpServletRequest request) {
+        StreamingResponseBody body = output ->
+            OutcomeStreamWriter.importTo(dealImportService, objectMapper, request.getInputStream(), output);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Get deals", description = "Retrieves all persisted FX deals, or those with from <= timestamp < to and the given currency pair (EUR/USD or EURUSD) when any filter is set")
     @GetMapping
-    public ResponseEntity<List<DealDtoRes>> getAllDeals() {
-        return ResponseEntity.ok(dealService.getAllDeals());
+    public ResponseEntity<List<DealDtoRes>> getAllDeals(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) String pair
+    ) {
+        if (from == null && to == null && pair == null) {
+            return ResponseEntity.ok(dealService.getAllDeals());
+        }
+        return ResponseEntity.ok(dealService.findDeals(from, to, pair));
+    }
+
+    @Operation(summary = "Get a deal by id", description = "Returns a single deal, served from an in-memory cache for recently written or read ids")
+    @GetMapping("/{id}")
+    public ResponseEntity<DealDtoRes> getDeal(@PathVariable String id) {
+        return ResponseEntity.ok(dealService.getDeal(id));
+    }
+
+    @Operation(summary = "Get a page of deals", description = "Keyset-paginated deals ordered by id or timestamp; pass nextCursor back to fetch the following page")
+    @GetMapping("/page")
+    public ResponseEntity<DealPage> getDealsPage(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "100") int size,
+        @RequestParam(defaultValue = "ID") DealPageOrder order
+    ) {
+        return ResponseEntity.ok(dealService.getDealsPage(cursor, size, order));
+    }
+
+    @Operation(summary = "Get deal statistics", description = "Count, total, minimum and maximum amount per currency pair and hour or day, answered from pre-aggregated rollups")
+    @GetMapping("/stats")
+    public ResponseEntity<List<DealStats>> getStats(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) String pair,
+        @RequestParam(defaultValue = "HOUR") StatsGranularity granularity
+    ) {
+        return ResponseEntity.ok(dealStatsService.getStats(from, to, pair, granularity));
+    }
+
+    @Operation(summary = "Export deals", description = "Streams persisted deals, optionally with from <= timestamp < to, as a JSON array, CSV or an Arrow IPC stream using a database cursor")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDeals(
+        @RequestParam(defaultValue = "JSON") ExportFormat format,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        MediaType mediaType = switch (format) {
+            case CSV -> TEXT_CSV;
+            case ARROW -> ARROW_STREAM;
+            case JSON -> MediaType.APPLICATION_JSON;
+        };
+        StreamingResponseBody body = output -> dealExportService.export(format, from, to, output);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.progressoft.clustereddatawarehouse.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.progressoft.clustereddatawarehouse.model.dto.ImportJobStatus;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportJobService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+@RestController
+@Profile("!reactive")
+@RequestMapping(path = "/api/deals/imports")
+@Tag(name = "FX Deal Imports", description = "Asynchronous import jobs for large deal files")
+public class DealImportJobController {
+
+    private final DealImportJobService dealImportJobService;
+
+    @Operation(summary = "Submit an import job", description = "Accepts a JSON array or NDJSON file of deals and returns a job id immediately")
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJobStatus> submit(HttpServletRequest request) throws IOException {
+        ImportJobStatus status = dealImportJobService.submit(request.getInputStream());
+        return ResponseEntity
+            .accepted()
+            .location(URI.create("/api/deals/imports/" + status.getJobId()))
+            .body(status);
+    }
+
+    @Operation(summary = "Get import job status", description = "Returns progress counters and, once completed, the final result; waitSeconds long-polls until the job finishes")
+    @GetMapping("/{jobId}")
+    public CompletableFuture<ResponseEntity<ImportJobStatus>> getStatus(
+        @PathVariable String jobId,
+        @RequestParam(defaultValue = "0") long waitSeconds
+    ) {
+        return dealImportJobService.awaitStatus(jobId, Duration.ofSeconds(waitSeconds))
+            .thenApply(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,40 @@
+package com.progressoft.clustereddatawarehouse.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportService;
+
+/**
+ * Runs a streaming import and writes one NDJSON line per outcome, for the servlet and the reactive endpoint.
+ */
+final class OutcomeStreamWriter {
+
+    private OutcomeStreamWriter() {
+    }
+
+    static void importTo(DealImportService dealImportService, ObjectMapper objectMapper, InputStream input,
+                         OutputStream output) throws IOException {
+        ObjectWriter outcomeWriter = objectMapper.writerFor(DealOutcome.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            dealImportService.importStream(input, outcome -> {
+                try {
+                    outcomeWriter.writeValue(generator, outcome);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.progressoft.clustereddatawarehouse.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddatawarehouse.config.IngestionProperties;
+import com.progressoft.clustereddatawarehouse.idempotency.IdempotencyStore;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchResponseMode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPage;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPageOrder;
+import com.progressoft.clustereddatawarehouse.model.dto.DealStats;
+import com.progressoft.clustereddatawarehouse.model.dto.ExportFormat;
+import com.progressoft.clustereddatawarehouse.model.dto.StatsGranularity;
+import com.progressoft.clustereddatawarehouse.reactive.BlockingBridge;
+import com.progressoft.clustereddatawarehouse.service.inter.DealExportService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealStatsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux twin of {@link DealController} for the {@code reactive} profile. Requests are parsed and answered on
+ * the event loop; every service call runs through {@link BlockingBridge}, so the services, their outcomes and
+ * their exceptions are the same as on the servlet stack.
+ */
+@AllArgsConstructor
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/api/deals")
+@Tag(name = "FX Deals", description = "Foreign Exchange Deals Management")
+public class ReactiveDealController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+    private static final MediaType ARROW_STREAM = MediaType.parseMediaType("application/vnd.apache.arrow.stream");
+
+    private final DealService dealService;
+    private final DealImportService dealImportService;
+    private final DealExportService dealExportService;
+    private final DealStatsService dealStatsService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final BlockingBridge blockingBridge;
+    private final IngestionProperties ingestionProperties;
+
+    @Operation(summary = "Create a single FX deal", description = "Creates and persists a single foreign exchange deal; a retry with the same Idempotency-Key returns the first response")
+    @PostMapping
+    public Mono<ResponseEntity<DealDtoRes>> create(
+        @Valid @RequestBody Mono<DealDtoReq> dealDtoReq,
+        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return dealDtoReq
+            .flatMap(deal -> blockingBridge.call(() ->
+                idempotencyStore.execute("create", idempotencyKey, deal, 1, () -> dealService.create(deal))))
+            .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    /**
+     * Without an Idempotency-Key the body is read with bounded demand and stored in chunks of
+     * {@code warehouse.ingestion.chunk-size} deals, one chunk at a time, so a large batch never sits in memory
+     * whole. A keyed batch is still collected first, because its fingerprint covers the whole body.
+     */
+    @Operation(summary = "Batch process multiple FX deals", description = "Processes multiple deals at once with no rollback policy. mode=FAILURES leaves out the stored deals, mode=SUMMARY returns counts only. A retry with the same Idempotency-Key returns the first response")
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BatchProcessingResult>> createBatch(
+        @RequestBody Flux<DealDtoReq> dealRequests,
+        @RequestParam(defaultValue = "FULL") BatchResponseMode mode,
+        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey != null) {
+            return dealRequests
+                .collectList()
+                .flatMap(deals -> blockingBridge.call(() ->
+                    idempotencyStore.execute("batch", idempotencyKey, List.of(mode, deals), deals.size(),
+                        () -> dealService.createBatch(deals, mode))))
+                .map(ResponseEntity::ok);
+        }
+        return dealRequests
+            .buffer(ingestionProperties.getChunkSize())
+            .concatMap(chunk -> blockingBridge.call(() -> dealService.createBatch(chunk, mode)), 1)
+            .reduceWith(() -> emptyResult(mode), ReactiveDealController::append)
+            .map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Stream-import FX deals", description = "Imports a JSON array or NDJSON stream of deals in bounded chunks and streams one NDJSON outcome per deal")
+    @PostMapping(
+        path = "/batch/stream",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<Flux<DataBuffer>> importStream(ServerHttpRequest request, ServerHttpResponse response) {
+        Flux<DataBuffer> body = blockingBridge.outputStream(output -> {
+            try (InputStream input = blockingBridge.inputStream(request.getBody())) {
+                OutcomeStreamWriter.importTo(dealImportService, objectMapper, input, output);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, response.bufferFactory());
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Get deals", description = "Retrieves all persisted FX deals, or those with from <= timestamp < to and the given currency pair (EUR/USD or EURUSD) when any filter is set")
+    @GetMapping
+    public Mono<ResponseEntity<List<DealDtoRes>>> getAllDeals(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) String pair
+    ) {
+        return blockingBridge.call(() -> from == null && to == null && pair == null
+                ? dealService.getAllDeals()
+                : dealService.findDeals(from, to, pair))
+            .map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get a deal by id", description = "Returns a single deal, served from an in-memory cache for recently written or read ids")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<DealDtoRes>> getDeal(@PathVariable String id) {
+        return blockingBridge.call(() -> dealService.getDeal(id)).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get a page of deals", description = "Keyset-paginated deals ordered by id or timestamp; pass nextCursor back to fetch the following page")
+    @GetMapping("/page")
+    public Mono<ResponseEntity<DealPage>> getDealsPage(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "100") int size,
+        @RequestParam(defaultValue = "ID") DealPageOrder order
+    ) {
+        return blockingBridge.call(() -> dealService.getDealsPage(cursor, size, order)).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get deal statistics", description = "Count, total, minimum and maximum amount per currency pair and hour or day, answered from pre-aggregated rollups")
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<List<DealStats>>> getStats(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) String pair,
+        @RequestParam(defaultValue = "HOUR") StatsGranularity granularity
+    ) {
+        return blockingBridge.call(() -> dealStatsService.getStats(from, to, pair, granularity)).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Export deals", description = "Streams persisted deals, optionally with from <= timestamp < to, as a JSON array, CSV or an Arrow IPC stream using a database cursor")
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportDeals(
+        @RequestParam(defaultValue = "JSON") ExportFormat format,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        ServerHttpResponse response
+    ) {
+        MediaType mediaType = switch (format) {
+            case CSV -> TEXT_CSV;
+            case ARROW -> ARROW_STREAM;
+            case JSON -> MediaType.APPLICATION_JSON;
+        };
+        Flux<DataBuffer> body = blockingBridge.outputStream(output -> {
+            try {
+                dealExportService.export(format, from, to, output);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, response.bufferFactory());
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    private static BatchProcessingResult emptyResult(BatchResponseMode mode) {
+        return new BatchProcessingResult(0, 0, 0,
+            mode == BatchResponseMode.FULL ? new ArrayList<>() : null,
+            mode == BatchResponseMode.FULL ? new ArrayList<>() : null,
+            mode != BatchResponseMode.SUMMARY ? new ArrayList<>() : null);
+    }
+
+    private static BatchProcessingResult append(BatchProcessingResult total, BatchProcessingResult chunk) {
+        total.setTotalRequests(total.getTotalRequests() + chunk.getTotalRequests());
+        total.setSuccessfulDeals(total.getSuccessfulDeals() + chunk.getSuccessfulDeals());
+        total.setFailedDeals(total.getFailedDeals() + chunk.getFailedDeals());
+        if (total.getSuccessfulResults() != null && chunk.getSuccessfulResults() != null) {
+            total.getSuccessfulResults().addAll(chunk.getSuccessfulResults());
+        }
+        if (total.getErrorMessages() != null && chunk.getErrorMessages() != null) {
+            total.getErrorMessages().addAll(chunk.getErrorMessages());
+        }
+        if (total.getErrors() != null && chunk.getErrors() != null) {
+            total.getErrors().addAll(chunk.getErrors());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,119 @@
+package com.progressoft.clustereddatawarehouse.dedup;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressoft.clustereddatawarehouse.config.DedupFilterProperties;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Membership filter over every persisted deal id. A negative answer is definitive and lets callers skip
+ * the database duplicate lookup; a positive answer only means the id may exist. Until the filter has been
+ * warmed from the deals table, every id is reported as possibly present.
+ */
+@Component
+@Slf4j
+public class DealIdFilter {
+
+    private final DealRepository dealRepository;
+    private final DealShardRouter dealShardRouter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BloomFilter filter;
+    private final AtomicLong entries = new AtomicLong();
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    private volatile boolean ready;
+
+    public DealIdFilter(DealRepository dealRepository, DealShardRouter dealShardRouter,
+                        PlatformTransactionManager transactionManager, DedupFilterProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.dealRepository = dealRepository;
+        this.dealShardRouter = dealShardRouter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.filter = properties.isEnabled()
+            ? new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate())
+            : null;
+
+        this.negatives = Counter.builder("deals.idfilter.lookups").tag("result", "negative")
+            .description("Duplicate checks answered by the filter without a database query")
+            .register(meterRegistry);
+        this.positives = Counter.builder("deals.idfilter.lookups").tag("result", "positive")
+            .description("Duplicate checks forwarded to the database")
+            .register(meterRegistry);
+        this.falsePositives = Counter.builder("deals.idfilter.false.positives")
+            .description("Forwarded duplicate checks for ids that did not exist")
+            .register(meterRegistry);
+        Gauge.builder("deals.idfilter.entries", entries, AtomicLong::get).register(meterRegistry);
+        if (filter != null) {
+            Gauge.builder("deals.idfilter.bits", filter, BloomFilter::bitSize).register(meterRegistry);
+            Gauge.builder("deals.idfilter.expected.fpp", filter, BloomFilter::expectedFalsePositiveRate)
+                .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (filter == null) {
+            log.info("Deal id filter disabled, duplicate checks always hit the database");
+            return;
+        }
+        Thread loader = new Thread(this::load, "deal-id-filter-warmup");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public boolean mightContain(String id) {
+        if (!ready) {
+            return true;
+        }
+        boolean possible = filter.mightContain(id);
+        (possible ? positives : negatives).increment();
+        return possible;
+    }
+
+    public void put(String id) {
+        if (filter != null) {
+            filter.put(id);
+            entries.incrementAndGet();
+        }
+    }
+
+    public void recordFalsePositive() {
+        if (ready) {
+            falsePositives.increment();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        try {
+            for (int shard = 0; shard < dealShardRouter.shardCount(); shard++) {
+                dealShardRouter.runOnShard(shard, () -> readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<String> ids = dealRepository.streamAllIds()) {
+                        ids.forEach(this::put);
+                    }
+                }));
+            }
+            ready = true;
+            log.info("Deal id filter warmed with {} ids in {} ms ({} bits, {} hash functions)",
+                entries.get(), (System.nanoTime() - started) / 1_000_000, filter.bitSize(), filter.hashFunctions());
+        } catch (RuntimeException ex) {
+            log.error("Deal id filter warm-up failed, duplicate checks keep hitting the database", ex);
+        }
+    }
+}
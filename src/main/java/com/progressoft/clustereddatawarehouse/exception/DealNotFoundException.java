@@ -0,0 +1,7 @@
+package com.progressoft.clustereddatawarehouse.exception;
+
+public class DealNotFoundException extends RuntimeException {
+    public DealNotFoundException(String message) {
+        super(message);
+    }
+}
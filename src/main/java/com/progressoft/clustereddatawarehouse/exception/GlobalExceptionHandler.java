@@ -3,25 +3,43 @@ package com.progressoft.clustereddatawarehouse.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import lombok.extern.slf4j.Slf4j;
 
 @RestControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
-    
+
+    static final String DATABASE_UNAVAILABLE_MESSAGE = "The database is unavailable, retry later";
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public Map<String, String> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        return fieldErrors(ex.getBindingResult());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public Map<String, String> handleReactiveValidationExceptions(WebExchangeBindException ex) {
+        return fieldErrors(ex.getBindingResult());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidDealException.class)
+    public Map<String, String> handleInvalidDealExceptions(InvalidDealException ex) {
         Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
+        errors.put("error", ex.getMessage());
         return errors;
     }
 
@@ -41,4 +59,81 @@ public class GlobalExceptionHandler {
         return errors;
     }
 
-}
\ No newline at end of file
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(DealNotFoundException.class)
+    public Map<String, String> handleDealNotFoundExceptions(DealNotFoundException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return errors;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public Map<String, String> handleInvalidCursorExceptions(InvalidCursorException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return errors;
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public Map<String, String> handleImportJobNotFoundExceptions(ImportJobNotFoundException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return errors;
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ImportQueueFullException.class)
+    public Map<String, String> handleImportQueueFullExceptions(ImportQueueFullException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return errors;
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(IngestionQueueFullException.class)
+    public Map<String, String> handleIngestionQueueFullExceptions(IngestionQueueFullException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return errors;
+    }
+
+    /**
+     * The database is unreachable or the failure is worth retrying; the driver message is only logged.
+     */
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler({DataAccessResourceFailureException.class, TransientDataAccessException.class})
+    public Map<String, String> handleDatabaseUnavailableExceptions(DataAccessException ex) {
+        log.error("Database unavailable: {}", ex.getMessage(), ex);
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", DATABASE_UNAVAILABLE_MESSAGE);
+        return errors;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public Map<String, String> handleInvalidIdempotencyKeyExceptions(InvalidIdempotencyKeyException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return errors;
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public Map<String, String> handleIdempotencyKeyMismatchExceptions(IdempotencyKeyMismatchException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return errors;
+    }
+
+    private Map<String, String> fieldErrors(BindingResult bindingResult) {
+        Map<String, String> errors = new HashMap<>();
+        bindingResult.getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        return errors;
+    }
+}
@@ -0,0 +1,7 @@
+package com.progressoft.clustereddatawarehouse.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.progressoft.clustereddatawarehouse.exception;
+
+public class ImportQueueFullException extends RuntimeException {
+    public ImportQueueFullException(String message) {
+        super(message);
+    }
+}
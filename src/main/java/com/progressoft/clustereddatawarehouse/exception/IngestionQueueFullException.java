@@ -0,0 +1,7 @@
+package com.progressoft.clustereddatawarehouse.exception;
+
+public class IngestionQueueFullException extends RuntimeException {
+    public IngestionQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,6 @@ package com.progressoft.clustereddatawarehouse.exception;
 
 public class InvalidCurrencyCodeException extends RuntimeException {
     public InvalidCurrencyCodeException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.progressoft.clustereddatawarehouse.exception;
+
+public class InvalidDealException extends RuntimeException {
+    public InvalidDealException(String message) {
+        super(message);
+    }
+}
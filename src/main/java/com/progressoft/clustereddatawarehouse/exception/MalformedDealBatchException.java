@@ -0,0 +1,7 @@
+package com.progressoft.clustereddatawarehouse.exception;
+
+public class MalformedDealBatchException extends RuntimeException {
+    public MalformedDealBatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,144 @@
+package com.progressoft.clustereddatawarehouse.idempotency;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.progressoft.clustereddatawarehouse.config.IdempotencyProperties;
+import com.progressoft.clustereddatawarehouse.exception.IdempotencyKeyMismatchException;
+import com.progressoft.clustereddatawarehouse.exception.InvalidIdempotencyKeyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Responses of create and batch requests by {@code Idempotency-Key}, held in memory on this node. The
+ * first request with a key runs; a retry with the same key and payload gets the stored response, and one
+ * that arrives while the first is still running waits for it instead of running again. Failed requests
+ * are not stored, so they can be retried. Payloads are compared by a SHA-256 of their JSON form, with map
+ * keys sorted and decimals stripped of trailing zeros, so {@code 10} and {@code 10.0} are the same amount.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper canonicalMapper;
+    private final Cache<String, Entry> entries;
+    private final Counter replays;
+
+    public IdempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.canonicalMapper = objectMapper.copy()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .registerModule(new SimpleModule().addSerializer(BigDecimal.class, new CanonicalDecimalSerializer()));
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaxRetainedDeals())
+            .weigher((String key, Entry entry) -> entry.weight())
+            .expireAfterWrite(properties.getRetention())
+            .recordStats()
+            .build();
+        this.replays = Counter.builder("deals.idempotency.replays")
+            .description("Requests answered with the response of an earlier request with the same key")
+            .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency");
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same {@code key} on the same {@code endpoint} ran before.
+     *
+     * @param payload compared by fingerprint with the payload of the earlier request
+     * @param weight  deals in the payload, counted against {@code max-retained-deals}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String endpoint, String key, Object payload, int weight, Supplier<T> action) {
+        if (key == null || !properties.isEnabled()) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new InvalidIdempotencyKeyException(
+                "Idempotency-Key must be between 1 and " + properties.getMaxKeyLength() + " characters");
+        }
+
+        Entry entry = new Entry(fingerprint(payload), weight, new CompletableFuture<>());
+        Entry earlier = entries.asMap().putIfAbsent(endpoint + ':' + key, entry);
+        if (earlier != null) {
+            if (!MessageDigest.isEqual(earlier.fingerprint(), entry.fingerprint())) {
+                throw new IdempotencyKeyMismatchException(
+                    "Idempotency-Key " + key + " was already used with a different request");
+            }
+            replays.increment();
+            return (T) await(earlier.response());
+        }
+
+        try {
+            T response = action.get();
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            entries.asMap().remove(endpoint + ':' + key, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Streams the canonical JSON straight into the digest, so a large batch is never held as one byte array.
+     */
+    private byte[] fingerprint(Object payload) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            canonicalMapper.writeValue(new DigestOutputStream(OutputStream.nullOutputStream(), sha256), payload);
+            return sha256.digest();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to serialize request payload", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> response) {
+        try {
+            return response.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record Entry(byte[] fingerprint, int weight, CompletableFuture<Object> response) {
+    }
+
+    private static final class CanonicalDecimalSerializer extends StdSerializer<BigDecimal> {
+
+        CanonicalDecimalSerializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeString(value.stripTrailingZeros().toPlainString());
+        }
+    }
+}
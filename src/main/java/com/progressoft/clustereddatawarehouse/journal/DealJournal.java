@@ -0,0 +1,252 @@
+package com.progressoft.clustereddatawarehouse.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.codec.DealBinaryCodec;
+import com.progressoft.clustereddatawarehouse.config.JournalProperties;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only local journal of accepted deals, written to fixed-size memory-mapped segment files:
+ * <pre>
+ * record  payload length (int32) | CRC32C of payload (int32) | payload ({@link DealBinaryCodec#encodeRecord})
+ * </pre>
+ * A zero length or a checksum mismatch marks the end of a segment's data. {@link #append} returns once the
+ * record has been forced to disk. The replayer reads from the checkpoint onwards and advances it with
+ * {@link #checkpoint} once the deals are committed, which deletes fully replayed segments. On startup every
+ * record after the checkpoint with a valid checksum is replayed again; in each segment the first invalid one
+ * is a torn write and is zeroed along with the rest of that segment.
+ */
+@Component
+@Slf4j
+public class DealJournal {
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final NavigableMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final AtomicLong pending = new AtomicLong();
+
+    private long writeSegment;
+    private int writeOffset;
+    private volatile JournalPosition published;
+    private volatile JournalPosition committed;
+
+    public DealJournal(JournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.enabled = properties.isEnabled();
+        this.directory = properties.getDirectory();
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, properties.getSegmentSize().toBytes());
+        Gauge.builder("deals.journal.pending", pending, AtomicLong::get)
+            .description("Journaled deals not yet committed to the database")
+            .register(meterRegistry);
+        if (enabled) {
+            recover();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends the deal and forces it to disk before returning.
+     */
+    public void append(final DealDtoReq deal) {
+        byte[] payload = DealBinaryCodec.encodeRecord(deal);
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+        int size = RECORD_HEADER_SIZE + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Deal record of " + size + " bytes exceeds the journal segment size");
+        }
+
+        MappedByteBuffer segment;
+        int offset;
+        synchronized (this) {
+            if (writeOffset + size > segmentSize) {
+                writeSegment++;
+                writeOffset = 0;
+                segments.put(writeSegment, map(writeSegment));
+            }
+            segment = segments.get(writeSegment);
+            offset = writeOffset;
+            segment.put(offset + RECORD_HEADER_SIZE, payload);
+            segment.putInt(offset + Integer.BYTES, (int) checksum.getValue());
+            segment.putInt(offset, payload.length);
+            writeOffset += size;
+            pending.incrementAndGet();
+            published = new JournalPosition(writeSegment, writeOffset);
+        }
+        segment.force(offset, size);
+    }
+
+    /**
+     * Reads up to {@code maxDeals} deals following the checkpoint. Must not be called concurrently with
+     * {@link #checkpoint}.
+     */
+    public JournalBatch read(final int maxDeals) {
+        JournalPosition end = published;
+        JournalPosition position = committed;
+        List<DealDtoReq> deals = new ArrayList<>();
+        while (deals.size() < maxDeals && position.compareTo(end) < 0) {
+            ByteBuffer segment = segment(position.segment());
+            if (!isValidRecord(segment, position.offset())) {
+                position = new JournalPosition(position.segment() + 1, 0);
+                continue;
+            }
+            int length = recordLength(segment, position.offset());
+            byte[] payload = new byte[length];
+            segment.get(position.offset() + RECORD_HEADER_SIZE, payload);
+            deals.add(DealBinaryCodec.decodeRecord(payload));
+            position = new JournalPosition(position.segment(), position.offset() + RECORD_HEADER_SIZE + length);
+        }
+        return new JournalBatch(deals, position);
+    }
+
+    /**
+     * Records that every deal of the batch is committed, so they are not replayed again after a restart.
+     */
+    public void checkpoint(final JournalBatch batch) {
+        JournalPosition position = batch.end();
+        ByteBuffer state = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+            .putLong(position.segment()).putInt(position.offset()).flip();
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(state);
+                channel.force(true);
+            }
+            Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write journal checkpoint", ex);
+        }
+        committed = position;
+        pending.addAndGet(-batch.deals().size());
+        deleteSegmentsBefore(position.segment());
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        JournalPosition checkpoint = readCheckpoint();
+        List<Long> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                .forEach(numbers::add);
+        }
+        for (long number : numbers) {
+            if (number < checkpoint.segment()) {
+                Files.deleteIfExists(segmentPath(number));
+            } else {
+                segments.put(number, map(number));
+            }
+        }
+        if (!segments.containsKey(checkpoint.segment())) {
+            segments.put(checkpoint.segment(), map(checkpoint.segment()));
+        }
+
+        JournalPosition end = checkpoint;
+        long recovered = 0;
+        for (var entry : segments.tailMap(checkpoint.segment(), true).entrySet()) {
+            int offset = entry.getKey() == checkpoint.segment() ? checkpoint.offset() : 0;
+            MappedByteBuffer segment = entry.getValue();
+            while (isValidRecord(segment, offset)) {
+                offset += RECORD_HEADER_SIZE + recordLength(segment, offset);
+                recovered++;
+            }
+            if (recordLength(segment, offset) != 0) {
+                log.warn("Discarding torn journal record at segment {} offset {}", entry.getKey(), offset);
+                segment.put(offset, new byte[segmentSize - offset]);
+                segment.force();
+            }
+            end = new JournalPosition(entry.getKey(), offset);
+        }
+
+        writeSegment = end.segment();
+        writeOffset = end.offset();
+        pending.set(recovered);
+        committed = checkpoint;
+        published = end;
+        log.info("Opened deal journal in {} with {} deals to replay", directory, recovered);
+    }
+
+    private JournalPosition readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return new JournalPosition(0, 0);
+        }
+        ByteBuffer state = ByteBuffer.wrap(Files.readAllBytes(file));
+        return new JournalPosition(state.getLong(), state.getInt());
+    }
+
+    private boolean isValidRecord(ByteBuffer segment, int offset) {
+        int length = recordLength(segment, offset);
+        if (length <= 0 || offset + RECORD_HEADER_SIZE + length > segmentSize) {
+            return false;
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(segment.slice(offset + RECORD_HEADER_SIZE, length));
+        return (int) checksum.getValue() == segment.getInt(offset + Integer.BYTES);
+    }
+
+    private int recordLength(ByteBuffer segment, int offset) {
+        return offset + RECORD_HEADER_SIZE <= segmentSize ? segment.getInt(offset) : 0;
+    }
+
+    private synchronized ByteBuffer segment(long number) {
+        return segments.get(number);
+    }
+
+    private synchronized void deleteSegmentsBefore(long number) {
+        NavigableMap<Long, MappedByteBuffer> replayed = segments.headMap(number, false);
+        for (long replayedSegment : List.copyOf(replayed.keySet())) {
+            try {
+                Files.deleteIfExists(segmentPath(replayedSegment));
+            } catch (IOException ex) {
+                log.warn("Failed to delete replayed journal segment {}", replayedSegment, ex);
+            }
+        }
+        replayed.clear();
+    }
+
+    private MappedByteBuffer map(long number) {
+        try (FileChannel channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to map journal segment " + number, ex);
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%020d%s", number, SEGMENT_SUFFIX));
+    }
+}
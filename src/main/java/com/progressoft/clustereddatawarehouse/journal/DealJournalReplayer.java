@@ -0,0 +1,61 @@
+package com.progressoft.clustereddatawarehouse.journal;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.config.JournalProperties;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.service.impl.BulkDealIngestor;
+import com.progressoft.clustereddatawarehouse.service.impl.DealServiceImpl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the {@link DealJournal} into the database through {@link BulkDealIngestor}, whose insert ignores ids
+ * that already exist, so deals replayed twice after a crash or retried by clients are stored once. Stored
+ * deals are cached here, since a journaled create does not know yet whether its payload will be stored. The
+ * checkpoint only advances after a batch is committed; on a database error the same batch is retried on
+ * the next run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DealJournalReplayer {
+
+    private final DealJournal dealJournal;
+    private final BulkDealIngestor bulkDealIngestor;
+    private final JournalProperties properties;
+    private final CacheManager cacheManager;
+
+    @Scheduled(fixedDelayString = "${warehouse.journal.replay-interval:100ms}")
+    public synchronized void replay() {
+        if (!dealJournal.isEnabled()) {
+            return;
+        }
+        try {
+            JournalBatch batch = dealJournal.read(properties.getReplayBatchSize());
+            while (!batch.deals().isEmpty()) {
+                List<DealOutcome> outcomes = bulkDealIngestor.ingest(batch.deals());
+                Cache cache = cacheManager.getCache(DealServiceImpl.DEAL_CACHE);
+                for (DealOutcome outcome : outcomes) {
+                    if (!outcome.isSuccess()) {
+                        log.warn("Journaled deal {} not stored: {}", outcome.getId(), outcome.getError());
+                    } else if (cache != null) {
+                        cache.put(outcome.getId(), outcome.getDeal());
+                    }
+                }
+                dealJournal.checkpoint(batch);
+                batch = dealJournal.read(properties.getReplayBatchSize());
+            }
+        } catch (DataAccessException | UncheckedIOException ex) {
+            log.warn("Journal replay failed, retrying in {}: {}", properties.getReplayInterval(), ex.getMessage());
+        }
+    }
+}
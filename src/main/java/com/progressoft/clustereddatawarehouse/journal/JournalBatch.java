@@ -0,0 +1,11 @@
+package com.progressoft.clustereddatawarehouse.journal;
+
+import java.util.List;
+
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+/**
+ * Journaled deals read in append order, and the position just past the last of them.
+ */
+public record JournalBatch(List<DealDtoReq> deals, JournalPosition end) {
+}
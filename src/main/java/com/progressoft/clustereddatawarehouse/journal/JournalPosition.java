@@ -0,0 +1,13 @@
+package com.progressoft.clustereddatawarehouse.journal;
+
+/**
+ * Byte offset within a numbered journal segment.
+ */
+public record JournalPosition(long segment, int offset) implements Comparable<JournalPosition> {
+
+    @Override
+    public int compareTo(JournalPosition other) {
+        int bySegment = Long.compare(segment, other.segment);
+        return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+    }
+}
@@ -10,6 +10,7 @@ import org.mapstruct.Named;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
 import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+import com.progressoft.clustereddatawarehouse.validation.CurrencyCodes;
 
 @Mapper(componentModel = "spring")
 public interface DealMapper {
@@ -26,7 +27,7 @@ public interface DealMapper {
 
     @Named("stringToCurrency")
     default Currency stringToCurrency(String currencyCode) {
-        return currencyCode != null ? Currency.getInstance(currencyCode) : null;
+        return CurrencyCodes.lookup(currencyCode);
     }
 
     @Named("currencyToString")
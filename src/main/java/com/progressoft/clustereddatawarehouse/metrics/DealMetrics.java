@@ -0,0 +1,47 @@
+package com.progressoft.clustereddatawarehouse.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts ingested deals by outcome, for single, batch and streamed imports alike.
+ */
+@Component
+public class DealMetrics {
+
+    private final Counter successes;
+    private final Counter duplicates;
+    private final Counter invalidCurrencies;
+    private final Counter invalid;
+
+    public DealMetrics(MeterRegistry meterRegistry) {
+        this.successes = outcome(meterRegistry, "success", "Deals persisted");
+        this.duplicates = outcome(meterRegistry, "duplicate", "Deals rejected because their id was already imported");
+        this.invalidCurrencies = outcome(meterRegistry, "invalid_currency", "Deals rejected for an unknown currency code");
+        this.invalid = outcome(meterRegistry, "invalid", "Deals rejected by field validation");
+    }
+
+    public void success() {
+        successes.increment();
+    }
+
+    public void duplicate() {
+        duplicates.increment();
+    }
+
+    public void invalidCurrency() {
+        invalidCurrencies.increment();
+    }
+
+    public void invalid() {
+        invalid.increment();
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome, String description) {
+        return Counter.builder("deals.ingested").tag("outcome", outcome)
+            .description(description)
+            .register(meterRegistry);
+    }
+}
@@ -2,6 +2,8 @@ package com.progressoft.clustereddatawarehouse.model.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,10 +11,12 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BatchProcessingResult {
     private int totalRequests;
     private int successfulDeals;
     private int failedDeals;
     private List<DealDtoRes> successfulResults;
     private List<String> errorMessages;
+    private List<DealError> errors;
 }
\ No newline at end of file
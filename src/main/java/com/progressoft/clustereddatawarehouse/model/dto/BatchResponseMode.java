@@ -0,0 +1,7 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+public enum BatchResponseMode {
+    FULL,
+    FAILURES,
+    SUMMARY
+}
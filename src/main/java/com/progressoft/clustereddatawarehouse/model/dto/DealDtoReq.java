@@ -3,9 +3,10 @@ package com.progressoft.clustereddatawarehouse.model.dto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.progressoft.clustereddatawarehouse.validation.IsoCurrency;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
@@ -14,11 +15,11 @@ public class DealDtoReq {
     @NotBlank
     private String id;
 
-    @Pattern(regexp = "^[A-Z]{3}$", message = "Currency code must be a 3-letter ISO code")
+    @IsoCurrency
     @NotNull
     private String fromCurrency;
 
-    @Pattern(regexp = "^[A-Z]{3}$", message = "Currency code must be a 3-letter ISO code")
+    @IsoCurrency
     @NotNull
     private String toCurrency;
 
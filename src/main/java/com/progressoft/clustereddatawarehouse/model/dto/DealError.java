@@ -0,0 +1,21 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DealError {
+    private String id;
+
+    private DealErrorCode code;
+
+    private String field;
+
+    private String message;
+}
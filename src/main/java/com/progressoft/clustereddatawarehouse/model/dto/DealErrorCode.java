@@ -0,0 +1,10 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+public enum DealErrorCode {
+    MALFORMED,
+    INVALID_FIELD,
+    INVALID_CURRENCY,
+    DUPLICATE_IN_BATCH,
+    ALREADY_IMPORTED,
+    PERSISTENCE_FAILED
+}
@@ -0,0 +1,49 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DealOutcome {
+    private String id;
+
+    private DealDtoRes deal;
+
+    private DealErrorCode code;
+
+    private String field;
+
+    private String error;
+
+    public static DealOutcome success(DealDtoRes deal) {
+        return new DealOutcome(deal.getId(), deal, null, null, null);
+    }
+
+    public static DealOutcome failure(String id, DealErrorCode code, String error) {
+        return new DealOutcome(id, null, code, null, error);
+    }
+
+    public static DealOutcome failure(String id, DealErrorCode code, String field, String error) {
+        return new DealOutcome(id, null, code, field, error);
+    }
+
+    public boolean isSuccess() {
+        return code == null;
+    }
+
+    public DealError toError() {
+        return new DealError(id, code, field, error);
+    }
+
+    /**
+     * The failure as a human-readable line, as reported in {@link BatchProcessingResult#getErrorMessages()}.
+     */
+    public String describe() {
+        return "Failed to process deal " + id + ": " + error;
+    }
+}
@@ -0,0 +1,15 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealPage {
+    private List<DealDtoRes> content;
+    private String nextCursor;
+}
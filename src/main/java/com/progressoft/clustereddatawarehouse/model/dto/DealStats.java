@@ -0,0 +1,21 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealStats {
+    private String fromCurrency;
+    private String toCurrency;
+    private LocalDateTime bucketStart;
+    private long dealCount;
+    private BigDecimal totalAmount;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+}
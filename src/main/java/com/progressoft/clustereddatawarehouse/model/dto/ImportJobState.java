@@ -0,0 +1,8 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+public enum ImportJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,37 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobStatus {
+    private String jobId;
+
+    private ImportJobState state;
+
+    private long processedDeals;
+
+    private long successfulDeals;
+
+    private long failedDeals;
+
+    private long omittedErrors;
+
+    private double dealsPerSecond;
+
+    private Instant submittedAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String failureReason;
+
+    private BatchProcessingResult result;
+}
@@ -0,0 +1,6 @@
+package com.progressoft.clustereddatawarehouse.model.dto;
+
+public enum StatsGranularity {
+    HOUR,
+    DAY
+}
@@ -0,0 +1,33 @@
+package com.progressoft.clustereddatawarehouse.model.entity;
+
+import java.util.Currency;
+
+import com.progressoft.clustereddatawarehouse.validation.CurrencyCodes;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a currency as its three-letter ISO code and reads it back through the {@link CurrencyCodes}
+ * table instead of {@link Currency#getInstance(String)}.
+ */
+@Converter
+public class CurrencyCodeConverter implements AttributeConverter<Currency, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Currency currency) {
+        return currency != null ? currency.getCurrencyCode() : null;
+    }
+
+    @Override
+    public Currency convertToEntityAttribute(String code) {
+        if (code == null) {
+            return null;
+        }
+        Currency currency = CurrencyCodes.lookup(code);
+        if (currency == null) {
+            throw new IllegalArgumentException("Unknown currency code in database: " + code);
+        }
+        return currency;
+    }
+}
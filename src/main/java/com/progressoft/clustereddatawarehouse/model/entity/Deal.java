@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Currency;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -23,18 +25,25 @@ import lombok.experimental.Accessors;
 public class Deal {
 
     @Id
+    @Column(nullable = false)
     private String id;
 
     @NotNull(message = "From currency cannot be null")
+    @Convert(converter = CurrencyCodeConverter.class)
+    @Column(nullable = false, length = 3)
     private Currency fromCurrency;
 
     @NotNull(message = "To currency cannot be null")
+    @Convert(converter = CurrencyCodeConverter.class)
+    @Column(nullable = false, length = 3)
     private Currency toCurrency;
 
     @NotNull(message = "Timestamp cannot be null")
+    @Column(nullable = false)
     private LocalDateTime timestamp;
 
     @NotNull(message = "Amount cannot be null")
     @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be greater than zero")
+    @Column(nullable = false, precision = 38, scale = 2)
     private BigDecimal amount;
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.progressoft.clustereddatawarehouse.model.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Count, sum, minimum and maximum of deal amounts per currency pair and hour.
+ */
+@Entity
+@Table(name = "deal_rollups")
+@Data
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class DealRollup {
+
+    @EmbeddedId
+    private DealRollupId id;
+
+    private long dealCount;
+
+    private BigDecimal amountSum;
+
+    private BigDecimal amountMin;
+
+    private BigDecimal amountMax;
+}
@@ -0,0 +1,23 @@
+package com.progressoft.clustereddatawarehouse.model.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Currency;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealRollupId implements Serializable {
+
+    private Currency fromCurrency;
+
+    private Currency toCurrency;
+
+    private LocalDateTime bucketStart;
+}
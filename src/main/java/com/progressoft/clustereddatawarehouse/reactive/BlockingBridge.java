@@ -0,0 +1,69 @@
+package com.progressoft.clustereddatawarehouse.reactive;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.config.ReactiveProperties;
+import com.progressoft.clustereddatawarehouse.exception.IngestionQueueFullException;
+
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs the blocking service calls of the reactive endpoints on a bounded worker pool, so event-loop threads
+ * never wait on the database and at most {@code worker-threads} requests hold a connection at a time.
+ * Streams are bridged with bounded demand: a worker blocks reading the request body until the client sends
+ * more, and blocks writing the response until the client has taken what was already written.
+ */
+@Component
+@Profile("reactive")
+public class BlockingBridge {
+
+    private static final String QUEUE_FULL_MESSAGE = "Too many requests waiting for a database worker, retry later";
+
+    private final ReactiveProperties properties;
+    private final Scheduler workers;
+
+    public BlockingBridge(ReactiveProperties properties) {
+        this.properties = properties;
+        this.workers = Schedulers.newBoundedElastic(properties.getWorkerThreads(), properties.getQueuedTasks(),
+            "deal-worker");
+    }
+
+    public <T> Mono<T> call(Callable<T> task) {
+        return Mono.fromCallable(task)
+            .subscribeOn(workers)
+            .onErrorMap(RejectedExecutionException.class, BlockingBridge::queueFull);
+    }
+
+    public InputStream inputStream(Publisher<DataBuffer> body) {
+        return DataBufferUtils.subscriberInputStream(body, properties.getBodyPrefetch());
+    }
+
+    public Flux<DataBuffer> outputStream(Consumer<OutputStream> writer, DataBufferFactory bufferFactory) {
+        return Flux.from(DataBufferUtils.outputStreamPublisher(writer, bufferFactory, workers::schedule))
+            .onErrorMap(RejectedExecutionException.class, BlockingBridge::queueFull);
+    }
+
+    private static IngestionQueueFullException queueFull(RejectedExecutionException ex) {
+        return new IngestionQueueFullException(QUEUE_FULL_MESSAGE);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.dispose();
+    }
+}
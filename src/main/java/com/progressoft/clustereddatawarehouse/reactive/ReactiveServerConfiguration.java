@@ -0,0 +1,20 @@
+package com.progressoft.clustereddatawarehouse.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Serves the {@code reactive} profile from Reactor Netty. Tomcat stays on the classpath for the servlet stack,
+ * and Spring Boot would otherwise run WebFlux on Tomcat's reactive adapter.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveServerConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,15 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.util.List;
+
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+
+public interface DealBulkRepository {
+
+    /**
+     * Inserts the given deals in a single JDBC batch, silently skipping rows whose id already exists.
+     *
+     * @return one flag per input deal, {@code true} when the row was actually inserted
+     */
+    boolean[] insertAllIgnoringDuplicates(List<Deal> deals);
+}
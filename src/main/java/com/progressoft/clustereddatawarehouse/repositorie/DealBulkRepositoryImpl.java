@@ -0,0 +1,81 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class DealBulkRepositoryImpl implements DealBulkRepository {
+
+    private static final String CLAIM_ID_SQL = "INSERT INTO deal_ids (id) VALUES (?) ON CONFLICT DO NOTHING";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO deals (id, from_currency, to_currency, timestamp, amount) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims every id in {@code deal_ids} first, since the time-partitioned {@code deals} table cannot enforce
+     * id uniqueness on its own, then inserts only the deals whose id was claimed.
+     */
+    @Override
+    @Transactional
+    public boolean[] insertAllIgnoringDuplicates(List<Deal> deals) {
+        boolean[] inserted = new boolean[deals.size()];
+        if (deals.isEmpty()) {
+            return inserted;
+        }
+
+        int[] claimCounts = jdbcTemplate.batchUpdate(CLAIM_ID_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                ps.setString(1, deals.get(index).getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deals.size();
+            }
+        });
+
+        List<Deal> claimed = new ArrayList<>(deals.size());
+        for (int index = 0; index < claimCounts.length; index++) {
+            inserted[index] = claimCounts[index] > 0 || claimCounts[index] == Statement.SUCCESS_NO_INFO;
+            if (inserted[index]) {
+                claimed.add(deals.get(index));
+            }
+        }
+        if (claimed.isEmpty()) {
+            return inserted;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                Deal deal = claimed.get(index);
+                ps.setString(1, deal.getId());
+                ps.setString(2, deal.getFromCurrency().getCurrencyCode());
+                ps.setString(3, deal.getToCurrency().getCurrencyCode());
+                ps.setTimestamp(4, Timestamp.valueOf(deal.getTimestamp()));
+                ps.setBigDecimal(5, deal.getAmount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return claimed.size();
+            }
+        });
+        return inserted;
+    }
+}
@@ -0,0 +1,115 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.progressoft.clustereddatawarehouse.config.PartitioningProperties;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one range partition of the PostgreSQL deals table per month: every month that has deals in
+ * {@code deals_default}, and the current month up to {@code warehouse.partitioning.months-ahead} months ahead.
+ * Historical or backfilled deals first land in {@code deals_default}; the next run creates their month's
+ * partition and moves them into it, so they can be pruned like any other month.
+ */
+@Component
+@Slf4j
+public class DealPartitionMaintainer {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final PartitioningProperties properties;
+    private final DealShardRouter dealShardRouter;
+
+    public DealPartitionMaintainer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   PartitioningProperties properties, DealShardRouter dealShardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.dealShardRouter = dealShardRouter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${warehouse.partitioning.cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int shard = 0; shard < dealShardRouter.shardCount(); shard++) {
+            dealShardRouter.runOnShard(shard, this::createPartitionsOnShard);
+        }
+    }
+
+    private void createPartitionsOnShard() {
+        if (!isPostgreSql()) {
+            return;
+        }
+        SortedSet<YearMonth> months = new TreeSet<>();
+        jdbcTemplate.queryForList("SELECT DISTINCT CAST(date_trunc('month', timestamp) AS DATE) FROM deals_default",
+                Date.class)
+            .forEach(month -> months.add(YearMonth.from(month.toLocalDate())));
+        YearMonth current = YearMonth.now();
+        for (int offset = 0; offset <= properties.getMonthsAhead(); offset++) {
+            months.add(current.plusMonths(offset));
+        }
+        for (YearMonth month : months) {
+            createPartition(month);
+        }
+    }
+
+    /**
+     * Creates the month's partition as a plain table, moves the month's rows out of {@code deals_default}
+     * into it and attaches it, in one transaction. Writes to {@code deals_default} wait for the move, so no
+     * row of the month can slip in before the attach checks the default partition.
+     */
+    private void createPartition(YearMonth month) {
+        String partition = "deals_" + month.format(SUFFIX);
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.plusMonths(1).atDay(1));
+        try {
+            transaction.executeWithoutResult(status -> {
+                Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+                if (Boolean.TRUE.equals(exists)) {
+                    return;
+                }
+                jdbcTemplate.execute("LOCK TABLE deals_default IN EXCLUSIVE MODE");
+                jdbcTemplate.execute(
+                    "CREATE TABLE " + partition + " (LIKE deals INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                int moved = jdbcTemplate.update(
+                    "WITH moved AS (DELETE FROM deals_default WHERE timestamp >= ? AND timestamp < ? RETURNING *) "
+                        + "INSERT INTO " + partition + " SELECT * FROM moved", from, to);
+                jdbcTemplate.execute(String.format(
+                    "ALTER TABLE deals ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')", partition, from, to));
+                if (moved > 0) {
+                    log.info("Moved {} deals from deals_default into new partition {}", moved, partition);
+                }
+            });
+        } catch (DataAccessException ex) {
+            log.warn("Could not create deals partition for {}: {}", month, ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private boolean isPostgreSql() {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+}
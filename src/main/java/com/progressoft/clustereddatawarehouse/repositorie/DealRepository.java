@@ -1,11 +1,58 @@
 package com.progressoft.clustereddatawarehouse.repositorie;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.progressoft.clustereddatawarehouse.model.entity.Deal;
 
+import jakarta.persistence.QueryHint;
+
 
 
 @Repository
-public interface DealRepository extends JpaRepository<Deal, String> {}
\ No newline at end of file
+public interface DealRepository extends JpaRepository<Deal, String>, JpaSpecificationExecutor<Deal>, DealBulkRepository {
+
+    int STREAM_FETCH_SIZE = 1000;
+
+    @Query(value = "select id from deal_ids where id in (:ids)", nativeQuery = true)
+    Set<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    List<Deal> findAllByOrderByIdAsc(Limit limit);
+
+    List<Deal> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<Deal> findAllByOrderByTimestampAscIdAsc(Limit limit);
+
+    @Query("select d from Deal d where (d.timestamp, d.id) > (:timestamp, :id) order by d.timestamp, d.id")
+    List<Deal> findPageAfter(@Param("timestamp") LocalDateTime timestamp, @Param("id") String id, Limit limit);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select d from Deal d order by d.id")
+    Stream<Deal> streamAllOrderedById();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select d from Deal d where d.timestamp >= :from and d.timestamp < :to order by d.timestamp, d.id")
+    Stream<Deal> streamByTimestampRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query(value = "select id from deal_ids", nativeQuery = true)
+    Stream<String> streamAllIds();
+}
@@ -0,0 +1,13 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.util.List;
+
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+
+public interface DealRollupMergeRepository {
+
+    /**
+     * Adds each delta to the stored rollup of its pair and bucket in a single JDBC batch, creating missing rows.
+     */
+    void mergeAll(List<DealRollup> deltas);
+}
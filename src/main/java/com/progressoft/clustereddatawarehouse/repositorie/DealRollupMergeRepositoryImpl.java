@@ -0,0 +1,58 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class DealRollupMergeRepositoryImpl implements DealRollupMergeRepository {
+
+    private static final String MERGE_SQL =
+        "MERGE INTO deal_rollups r "
+            + "USING (VALUES (?, ?, ?, ?, ?, ?, ?)) "
+            + "AS d (from_currency, to_currency, bucket_start, deal_count, amount_sum, amount_min, amount_max) "
+            + "ON r.from_currency = d.from_currency AND r.to_currency = d.to_currency AND r.bucket_start = d.bucket_start "
+            + "WHEN MATCHED THEN UPDATE SET deal_count = r.deal_count + d.deal_count, "
+            + "amount_sum = r.amount_sum + d.amount_sum, "
+            + "amount_min = LEAST(r.amount_min, d.amount_min), "
+            + "amount_max = GREATEST(r.amount_max, d.amount_max) "
+            + "WHEN NOT MATCHED THEN INSERT (from_currency, to_currency, bucket_start, deal_count, amount_sum, amount_min, amount_max) "
+            + "VALUES (d.from_currency, d.to_currency, d.bucket_start, d.deal_count, d.amount_sum, d.amount_min, d.amount_max)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void mergeAll(List<DealRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(MERGE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int index) throws SQLException {
+                DealRollup delta = deltas.get(index);
+                ps.setString(1, delta.getId().getFromCurrency().getCurrencyCode());
+                ps.setString(2, delta.getId().getToCurrency().getCurrencyCode());
+                ps.setTimestamp(3, Timestamp.valueOf(delta.getId().getBucketStart()));
+                ps.setLong(4, delta.getDealCount());
+                ps.setBigDecimal(5, delta.getAmountSum());
+                ps.setBigDecimal(6, delta.getAmountMin());
+                ps.setBigDecimal(7, delta.getAmountMax());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollupId;
+
+@Repository
+public interface DealRollupRepository extends JpaRepository<DealRollup, DealRollupId>,
+    JpaSpecificationExecutor<DealRollup>, DealRollupMergeRepository {
+}
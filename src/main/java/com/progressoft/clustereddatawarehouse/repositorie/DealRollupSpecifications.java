@@ -0,0 +1,31 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+
+/**
+ * Predicates for {@link DealRollupRepository#findAll(Specification)}, mirroring {@link DealSpecifications}.
+ */
+public final class DealRollupSpecifications {
+
+    private DealRollupSpecifications() {
+    }
+
+    public static Specification<DealRollup> bucketFrom(LocalDateTime from) {
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("id").get("bucketStart"), from);
+    }
+
+    public static Specification<DealRollup> bucketBefore(LocalDateTime to) {
+        return (root, query, builder) -> builder.lessThan(root.get("id").get("bucketStart"), to);
+    }
+
+    public static Specification<DealRollup> currencyPair(Currency fromCurrency, Currency toCurrency) {
+        return (root, query, builder) -> builder.and(
+            builder.equal(root.get("id").get("fromCurrency"), fromCurrency),
+            builder.equal(root.get("id").get("toCurrency"), toCurrency));
+    }
+}
@@ -0,0 +1,33 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+
+/**
+ * Predicates for {@link DealRepository#findAll(Specification)}. Each one is only added when its value is
+ * given, so the generated SQL compares plain bound columns and PostgreSQL can prune partitions and use the
+ * {@code (from_currency, to_currency, timestamp)} index.
+ */
+public final class DealSpecifications {
+
+    private DealSpecifications() {
+    }
+
+    public static Specification<Deal> timestampFrom(LocalDateTime from) {
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("timestamp"), from);
+    }
+
+    public static Specification<Deal> timestampBefore(LocalDateTime to) {
+        return (root, query, builder) -> builder.lessThan(root.get("timestamp"), to);
+    }
+
+    public static Specification<Deal> currencyPair(Currency fromCurrency, Currency toCurrency) {
+        return (root, query, builder) -> builder.and(
+            builder.equal(root.get("fromCurrency"), fromCurrency),
+            builder.equal(root.get("toCurrency"), toCurrency));
+    }
+}
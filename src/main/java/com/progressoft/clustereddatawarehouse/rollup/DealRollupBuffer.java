@@ -0,0 +1,115 @@
+package com.progressoft.clustereddatawarehouse.rollup;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollupId;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRollupRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accumulates per-(pair, hour) deltas of persisted deals in memory and merges them into
+ * {@code deal_rollups} in one batch every {@code warehouse.rollups.flush-interval}. Deltas are only touched
+ * inside {@link ConcurrentHashMap#compute} and {@link ConcurrentHashMap#remove}, so writers to different
+ * buckets never contend and a flush never loses a concurrent update. Deltas not yet flushed when the
+ * process dies are lost; the rollups then undercount until rebuilt from {@code deals}.
+ */
+@Component
+@Slf4j
+public class DealRollupBuffer implements DisposableBean {
+
+    private final DealRollupRepository rollupRepository;
+    private final ConcurrentHashMap<DealRollupId, Delta> pending = new ConcurrentHashMap<>();
+
+    public DealRollupBuffer(DealRollupRepository rollupRepository, MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        Gauge.builder("deals.rollups.pending", pending, ConcurrentHashMap::size)
+            .description("Rollup buckets with deltas waiting to be flushed")
+            .register(meterRegistry);
+    }
+
+    public void record(Deal deal) {
+        DealRollupId bucket = new DealRollupId(deal.getFromCurrency(), deal.getToCurrency(),
+            deal.getTimestamp().truncatedTo(ChronoUnit.HOURS));
+        pending.compute(bucket, (key, delta) -> (delta == null ? new Delta() : delta).add(deal.getAmount()));
+    }
+
+    /**
+     * Returns a copy of the deltas not yet merged into {@code deal_rollups}, one per bucket. Buckets taken by a
+     * flush that has not committed yet are in neither place until it does.
+     */
+    public List<DealRollup> pending() {
+        List<DealRollup> snapshot = new ArrayList<>(pending.size());
+        for (DealRollupId bucket : pending.keySet()) {
+            pending.computeIfPresent(bucket, (key, delta) -> {
+                snapshot.add(new DealRollup(key, delta.count, delta.sum, delta.min, delta.max));
+                return delta;
+            });
+        }
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${warehouse.rollups.flush-interval:1s}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<DealRollup> rollups = new ArrayList<>(pending.size());
+        for (DealRollupId bucket : pending.keySet()) {
+            Delta delta = pending.remove(bucket);
+            if (delta != null) {
+                rollups.add(new DealRollup(bucket, delta.count, delta.sum, delta.min, delta.max));
+            }
+        }
+        try {
+            rollupRepository.mergeAll(rollups);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to flush {} rollup buckets, keeping them for the next flush", rollups.size(), ex);
+            for (DealRollup rollup : rollups) {
+                pending.compute(rollup.getId(), (key, delta) -> (delta == null ? new Delta() : delta).add(rollup));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private static final class Delta {
+
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private BigDecimal min;
+        private BigDecimal max;
+
+        Delta add(BigDecimal amount) {
+            count++;
+            sum = sum.add(amount);
+            min = min == null || amount.compareTo(min) < 0 ? amount : min;
+            max = max == null || amount.compareTo(max) > 0 ? amount : max;
+            return this;
+        }
+
+        Delta add(DealRollup rollup) {
+            count += rollup.getDealCount();
+            sum = sum.add(rollup.getAmountSum());
+            min = min == null || rollup.getAmountMin().compareTo(min) < 0 ? rollup.getAmountMin() : min;
+            max = max == null || rollup.getAmountMax().compareTo(max) > 0 ? rollup.getAmountMax() : max;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.dedup.DealIdFilter;
+import com.progressoft.clustereddatawarehouse.mapper.DealMapper;
+import com.progressoft.clustereddatawarehouse.metrics.DealMetrics;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+import com.progressoft.clustereddatawarehouse.rollup.DealRollupBuffer;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a chunk through {@link DealBatchValidator} and persists the clean deals with at most one duplicate
+ * lookup and one batched insert instead of a lookup and a save per deal; ids the {@link DealIdFilter} rules
+ * out skip the lookup entirely. Outcomes are returned in the same order as the input. With sharding, the
+ * lookup and insert run once per shard that owns ids of the chunk.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkDealIngestor {
+
+    private final DealRepository dealRepository;
+    private final DealMapper dealMapper;
+    private final DealIdFilter dealIdFilter;
+    private final DealBatchValidator dealBatchValidator;
+    private final DealMetrics dealMetrics;
+    private final DealRollupBuffer dealRollupBuffer;
+    private final DealShardRouter dealShardRouter;
+
+    public List<DealOutcome> ingest(final List<DealDtoReq> chunk) {
+        DealOutcome[] outcomes = new DealOutcome[chunk.size()];
+        List<Integer> candidateIndexes = dealBatchValidator.validate(chunk, outcomes);
+
+        dealShardRouter.groupByShard(candidateIndexes, index -> chunk.get(index).getId())
+            .forEach((shard, indexes) -> dealShardRouter.runOnShard(shard, () -> persist(chunk, indexes, outcomes)));
+
+        log.debug("Ingested chunk of {} deals, {} candidates for insert", chunk.size(), candidateIndexes.size());
+        return Arrays.asList(outcomes);
+    }
+
+    private void persist(List<DealDtoReq> chunk, List<Integer> candidateIndexes, DealOutcome[] outcomes) {
+        Set<String> possibleDuplicates = new HashSet<>();
+        for (int index : candidateIndexes) {
+            if (dealIdFilter.mightContain(chunk.get(index).getId())) {
+                possibleDuplicates.add(chunk.get(index).getId());
+            }
+        }
+        Set<String> existingIds = possibleDuplicates.isEmpty()
+            ? Set.of()
+            : dealRepository.findExistingIds(possibleDuplicates);
+        for (int falsePositive = existingIds.size(); falsePositive < possibleDuplicates.size(); falsePositive++) {
+            dealIdFilter.recordFalsePositive();
+        }
+
+        List<Deal> deals = new ArrayList<>(candidateIndexes.size());
+        List<Integer> dealIndexes = new ArrayList<>(candidateIndexes.size());
+        for (int index : candidateIndexes) {
+            DealDtoReq request = chunk.get(index);
+            if (existingIds.contains(request.getId())) {
+                outcomes[index] = DealOutcome.failure(request.getId(), DealErrorCode.ALREADY_IMPORTED, "id",
+                    DealBatchValidator.DUPLICATE_MESSAGE);
+                dealMetrics.duplicate();
+            } else {
+                deals.add(dealMapper.toEntity(request));
+                dealIndexes.add(index);
+            }
+        }
+
+        boolean[] inserted = dealRepository.insertAllIgnoringDuplicates(deals);
+        for (int position = 0; position < deals.size(); position++) {
+            Deal deal = deals.get(position);
+            if (inserted[position]) {
+                dealIdFilter.put(deal.getId());
+                dealRollupBuffer.record(deal);
+                outcomes[dealIndexes.get(position)] = DealOutcome.success(dealMapper.toResponseDto(deal));
+                dealMetrics.success();
+            } else {
+                outcomes[dealIndexes.get(position)] = DealOutcome.failure(deal.getId(), DealErrorCode.ALREADY_IMPORTED,
+                    "id", DealBatchValidator.DUPLICATE_MESSAGE);
+                dealMetrics.duplicate();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+
+/**
+ * Writes deals as a ZSTD-compressed Arrow IPC stream in record batches of {@link #BATCH_ROWS} rows. Both
+ * currency columns are int16 indexes into one dictionary of every ISO 4217 code, sent once ahead of the
+ * first batch; timestamps are microseconds since the epoch (UTC) and amounts decimal(38, 2), matching the
+ * table.
+ */
+final class DealArrowWriter implements AutoCloseable {
+
+    static final int BATCH_ROWS = 8192;
+
+    private static final DictionaryEncoding CURRENCY_ENCODING =
+        new DictionaryEncoding(0, false, new ArrowType.Int(16, true));
+    private static final List<String> CURRENCY_CODES = Currency.getAvailableCurrencies().stream()
+        .map(Currency::getCurrencyCode)
+        .sorted()
+        .toList();
+    private static final Map<String, Short> CURRENCY_INDEXES = new HashMap<>();
+
+    static {
+        for (int index = 0; index < CURRENCY_CODES.size(); index++) {
+            CURRENCY_INDEXES.put(CURRENCY_CODES.get(index), (short) index);
+        }
+    }
+
+    static final Schema SCHEMA = new Schema(List.of(
+        Field.notNullable("id", ArrowType.Utf8.INSTANCE),
+        new Field("from_currency", new FieldType(false, CURRENCY_ENCODING.getIndexType(), CURRENCY_ENCODING), null),
+        new Field("to_currency", new FieldType(false, CURRENCY_ENCODING.getIndexType(), CURRENCY_ENCODING), null),
+        Field.notNullable("timestamp", new ArrowType.Timestamp(TimeUnit.MICROSECOND, null)),
+        Field.notNullable("amount", new ArrowType.Decimal(38, 2, 128))
+    ));
+
+    private final BufferAllocator allocator = new RootAllocator();
+    private final VarCharVector currencies = new VarCharVector("currency", allocator);
+    private final VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator);
+    private final VarCharVector ids = (VarCharVector) root.getVector("id");
+    private final SmallIntVector fromCurrencies = (SmallIntVector) root.getVector("from_currency");
+    private final SmallIntVector toCurrencies = (SmallIntVector) root.getVector("to_currency");
+    private final TimeStampMicroVector timestamps = (TimeStampMicroVector) root.getVector("timestamp");
+    private final DecimalVector amounts = (DecimalVector) root.getVector("amount");
+    private final ArrowStreamWriter writer;
+    private int rows;
+
+    DealArrowWriter(OutputStream output) throws IOException {
+        currencies.allocateNew(CURRENCY_CODES.size());
+        for (int index = 0; index < CURRENCY_CODES.size(); index++) {
+            currencies.setSafe(index, CURRENCY_CODES.get(index).getBytes(StandardCharsets.US_ASCII));
+        }
+        currencies.setValueCount(CURRENCY_CODES.size());
+
+        DictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider(
+            new Dictionary(currencies, CURRENCY_ENCODING));
+        writer = new ArrowStreamWriter(root, provider, Channels.newChannel(output), IpcOption.DEFAULT,
+            CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD);
+        writer.start();
+        root.allocateNew();
+    }
+
+    void write(Deal deal) throws IOException {
+        ids.setSafe(rows, deal.getId().getBytes(StandardCharsets.UTF_8));
+        fromCurrencies.setSafe(rows, CURRENCY_INDEXES.get(deal.getFromCurrency().getCurrencyCode()));
+        toCurrencies.setSafe(rows, CURRENCY_INDEXES.get(deal.getToCurrency().getCurrencyCode()));
+        timestamps.setSafe(rows, toEpochMicros(deal));
+        amounts.setSafe(rows, deal.getAmount().setScale(2, RoundingMode.HALF_UP));
+        if (++rows == BATCH_ROWS) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                writeBatch();
+            }
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+            currencies.close();
+            allocator.close();
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(rows);
+        writer.writeBatch();
+        root.allocateNew();
+        rows = 0;
+    }
+
+    private static long toEpochMicros(Deal deal) {
+        return deal.getTimestamp().toEpochSecond(ZoneOffset.UTC) * 1_000_000L + deal.getTimestamp().getNano() / 1_000;
+    }
+}
@@ -0,0 +1,96 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.metrics.DealMetrics;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.validation.CurrencyCodes;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory validation of a whole chunk, in stages: null elements, currency codes, bean constraints, then
+ * ids repeated within the chunk. A deal stops at the first stage it fails, and of several violated
+ * constraints the one on the first property by name is reported. Failures are recorded as outcomes instead of
+ * thrown, and only the indexes of clean deals are handed on to the database duplicate check and insert.
+ */
+@Component
+@RequiredArgsConstructor
+public class DealBatchValidator {
+
+    static final String DUPLICATE_MESSAGE = "Request is already imported.";
+    static final String INVALID_CURRENCY_MESSAGE = "Invalid currency code provided";
+    static final String NULL_DEAL_MESSAGE = "Malformed deal: null";
+
+    private static final Comparator<ConstraintViolation<DealDtoReq>> BY_PROPERTY_PATH =
+        Comparator.comparing((ConstraintViolation<DealDtoReq> violation) -> violation.getPropertyPath().toString())
+            .thenComparing(ConstraintViolation::getMessage);
+
+    private final Validator validator;
+    private final DealMetrics dealMetrics;
+
+    /**
+     * Fills {@code outcomes} for every deal that fails and returns the indexes of the others, in input order.
+     */
+    public List<Integer> validate(final List<DealDtoReq> chunk, final DealOutcome[] outcomes) {
+        List<Integer> clean = new ArrayList<>(chunk.size());
+        Set<String> chunkIds = new HashSet<>();
+        for (int index = 0; index < chunk.size(); index++) {
+            DealDtoReq request = chunk.get(index);
+            if (request == null) {
+                dealMetrics.invalid();
+                outcomes[index] = DealOutcome.failure(null, DealErrorCode.MALFORMED, NULL_DEAL_MESSAGE);
+                continue;
+            }
+            DealOutcome failure = checkCurrencies(request);
+            if (failure == null) {
+                failure = checkConstraints(request);
+            }
+            if (failure == null && !chunkIds.add(request.getId())) {
+                dealMetrics.duplicate();
+                failure = DealOutcome.failure(request.getId(), DealErrorCode.DUPLICATE_IN_BATCH, "id", DUPLICATE_MESSAGE);
+            }
+            if (failure != null) {
+                outcomes[index] = failure;
+            } else {
+                clean.add(index);
+            }
+        }
+        return clean;
+    }
+
+    private DealOutcome checkConstraints(DealDtoReq request) {
+        Set<ConstraintViolation<DealDtoReq>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        dealMetrics.invalid();
+        ConstraintViolation<DealDtoReq> violation = violations.stream()
+            .min(BY_PROPERTY_PATH)
+            .orElseThrow();
+        String field = violation.getPropertyPath().toString();
+        return DealOutcome.failure(request.getId(), DealErrorCode.INVALID_FIELD, field,
+            field + ": " + violation.getMessage());
+    }
+
+    private DealOutcome checkCurrencies(DealDtoReq request) {
+        String field = !CurrencyCodes.isValid(request.getFromCurrency()) ? "fromCurrency"
+            : !CurrencyCodes.isValid(request.getToCurrency()) ? "toCurrency"
+            : null;
+        if (field == null) {
+            return null;
+        }
+        dealMetrics.invalidCurrency();
+        return DealOutcome.failure(request.getId(), DealErrorCode.INVALID_CURRENCY, field, INVALID_CURRENCY_MESSAGE);
+    }
+}
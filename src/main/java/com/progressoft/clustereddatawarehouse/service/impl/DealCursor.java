@@ -0,0 +1,38 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.progressoft.clustereddatawarehouse.exception.InvalidCursorException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPageOrder;
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+
+/**
+ * Opaque keyset position: the sort key of the last deal on a page, base64url-encoded.
+ */
+record DealCursor(LocalDateTime timestamp, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    static String encode(DealPageOrder order, Deal last) {
+        String raw = order == DealPageOrder.TIMESTAMP
+            ? last.getTimestamp().toString() + SEPARATOR + last.getId()
+            : last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static DealCursor decode(DealPageOrder order, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (order == DealPageOrder.ID) {
+                return new DealCursor(null, raw);
+            }
+            int separator = raw.indexOf(SEPARATOR);
+            return new DealCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("Invalid page cursor provided");
+        }
+    }
+}
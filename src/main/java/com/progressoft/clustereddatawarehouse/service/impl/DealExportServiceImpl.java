@@ -0,0 +1,161 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.progressoft.clustereddatawarehouse.mapper.DealMapper;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.ExportFormat;
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+import com.progressoft.clustereddatawarehouse.service.inter.DealExportService;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams deals straight from the database into the response. With sharding the shards are exported one
+ * after another, each in its own read-only transaction, so the output is ordered within each shard only.
+ */
+@Service
+@Slf4j
+public class DealExportServiceImpl implements DealExportService {
+
+    private static final String CSV_HEADER = "id,fromCurrency,toCurrency,timestamp,amount";
+    // Stand-ins for an open bound, so a one-sided range is still a plain range scan PostgreSQL can prune on
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final DealRepository dealRepository;
+    private final DealMapper dealMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final DealShardRouter dealShardRouter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public DealExportServiceImpl(DealRepository dealRepository, DealMapper dealMapper, ObjectMapper objectMapper,
+                                 EntityManager entityManager, DealShardRouter dealShardRouter,
+                                 PlatformTransactionManager transactionManager) {
+        this.dealRepository = dealRepository;
+        this.dealMapper = dealMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.dealShardRouter = dealShardRouter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void export(final ExportFormat format, final LocalDateTime from, final LocalDateTime to,
+                       final OutputStream output) throws IOException {
+        log.info("Starting {} export of deals from {} to {}", format, from, to);
+        Supplier<Stream<Deal>> deals = from == null && to == null
+            ? dealRepository::streamAllOrderedById
+            : () -> dealRepository.streamByTimestampRange(from != null ? from : EARLIEST, to != null ? to : LATEST);
+        long exported = switch (format) {
+            case CSV -> writeCsv(deals, output);
+            case ARROW -> writeArrow(deals, output);
+            case JSON -> writeJson(deals, output);
+        };
+        log.info("Exported {} deals", exported);
+    }
+
+    private long writeArrow(Supplier<Stream<Deal>> deals, OutputStream output) throws IOException {
+        try (DealArrowWriter writer = new DealArrowWriter(output)) {
+            return forEachDeal(deals, deal -> {
+                try {
+                    writer.write(deal);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    private long writeJson(Supplier<Stream<Deal>> deals, OutputStream output) throws IOException {
+        ObjectWriter dealWriter = objectMapper.writerFor(DealDtoRes.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartArray();
+            long exported = forEachDeal(deals, deal -> {
+                try {
+                    dealWriter.writeValue(generator, dealMapper.toResponseDto(deal));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.writeEndArray();
+            return exported;
+        }
+    }
+
+    private long writeCsv(Supplier<Stream<Deal>> deals, OutputStream output) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            return forEachDeal(deals, deal -> {
+                try {
+                    writer.write(csvField(deal.getId()));
+                    writer.write(',');
+                    writer.write(deal.getFromCurrency().getCurrencyCode());
+                    writer.write(',');
+                    writer.write(deal.getToCurrency().getCurrencyCode());
+                    writer.write(',');
+                    writer.write(deal.getTimestamp().toString());
+                    writer.write(',');
+                    writer.write(deal.getAmount().toPlainString());
+                    writer.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    private long forEachDeal(Supplier<Stream<Deal>> source, Consumer<Deal> action) {
+        long count = 0;
+        for (int shard = 0; shard < dealShardRouter.shardCount(); shard++) {
+            Long exported = dealShardRouter.onShard(shard,
+                () -> readOnlyTransaction.execute(status -> forEachDealOnShard(source, action)));
+            count += exported != null ? exported : 0;
+        }
+        return count;
+    }
+
+    private long forEachDealOnShard(Supplier<Stream<Deal>> source, Consumer<Deal> action) {
+        long count = 0;
+        try (Stream<Deal> deals = source.get()) {
+            for (Deal deal : (Iterable<Deal>) deals::iterator) {
+                action.accept(deal);
+                entityManager.detach(deal);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,186 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.config.WriteBehindProperties;
+import com.progressoft.clustereddatawarehouse.exception.DuplicateDealIdException;
+import com.progressoft.clustereddatawarehouse.exception.IngestionQueueFullException;
+import com.progressoft.clustereddatawarehouse.exception.InvalidCurrencyCodeException;
+import com.progressoft.clustereddatawarehouse.exception.InvalidDealException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group commit for single-deal creates. Callers queue their deal and block until a dedicated committer
+ * thread has persisted the group containing it through {@link BulkDealIngestor}, so each group costs one
+ * duplicate lookup and one transaction while every caller still gets its own outcome, in arrival order.
+ * A group closes when it reaches {@code max-group-size} or {@code max-delay} after its first deal.
+ */
+@Component
+@Slf4j
+public class DealGroupCommitter implements DisposableBean {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final String SHUTTING_DOWN_MESSAGE = "Deal ingestion is shutting down, retry later";
+    private static final String COMMIT_TIMEOUT_MESSAGE = "Timed out waiting for the deal to be persisted, retry later";
+
+    private final BulkDealIngestor bulkDealIngestor;
+    private final WriteBehindProperties properties;
+    private final BlockingQueue<PendingDeal> queue;
+    private final DistributionSummary groupSizes;
+    private final Thread committer;
+    private volatile boolean running;
+
+    public DealGroupCommitter(BulkDealIngestor bulkDealIngestor, WriteBehindProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.bulkDealIngestor = bulkDealIngestor;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.groupSizes = DistributionSummary.builder("deals.groupcommit.size")
+            .description("Deals persisted per group commit")
+            .register(meterRegistry);
+        Gauge.builder("deals.groupcommit.pending", queue, BlockingQueue::size)
+            .description("Deals waiting for the group committer")
+            .register(meterRegistry);
+        this.committer = new CustomizableThreadFactory("deal-group-commit-").newThread(this::run);
+        this.running = properties.isEnabled();
+        if (running) {
+            committer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues the deal and waits up to {@code commit-timeout} until its group is committed. A deal that times
+     * out while still queued is withdrawn; one whose group was already committing may still be stored.
+     *
+     * @throws DuplicateDealIdException if the id was already imported or an earlier deal in the group claimed it
+     * @throws InvalidDealException if the deal failed bean validation
+     * @throws DataAccessException if the group could not be stored
+     * @throws IngestionQueueFullException if the queue is full or the commit timed out
+     */
+    public DealDtoRes persist(final DealDtoReq request) {
+        PendingDeal pending = new PendingDeal(request, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new IngestionQueueFullException("Too many deals waiting to be persisted, retry later");
+        }
+        if (!running && queue.remove(pending)) {
+            throw new IngestionQueueFullException(SHUTTING_DOWN_MESSAGE);
+        }
+
+        DealOutcome outcome;
+        try {
+            outcome = pending.result()
+                .orTimeout(properties.getCommitTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                queue.remove(pending);
+                throw new IngestionQueueFullException(COMMIT_TIMEOUT_MESSAGE);
+            }
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        if (outcome.isSuccess()) {
+            return outcome.getDeal();
+        }
+        throw switch (outcome.getCode()) {
+            case ALREADY_IMPORTED, DUPLICATE_IN_BATCH -> new DuplicateDealIdException(outcome.getError());
+            case INVALID_CURRENCY -> new InvalidCurrencyCodeException(outcome.getError());
+            case INVALID_FIELD, MALFORMED -> new InvalidDealException(outcome.getError());
+            case PERSISTENCE_FAILED -> new DataAccessResourceFailureException(outcome.getError());
+        };
+    }
+
+    private void run() {
+        List<PendingDeal> group = new ArrayList<>(properties.getMaxGroupSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingDeal first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                fill(group);
+                commit(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                group.clear();
+            }
+        }
+        for (PendingDeal pending : queue) {
+            pending.result().completeExceptionally(
+                new IngestionQueueFullException(SHUTTING_DOWN_MESSAGE));
+        }
+    }
+
+    private void fill(List<PendingDeal> group) throws InterruptedException {
+        int maxGroupSize = Math.max(1, properties.getMaxGroupSize());
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        while (group.size() < maxGroupSize) {
+            if (queue.drainTo(group, maxGroupSize - group.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            PendingDeal next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<PendingDeal> group) {
+        List<DealDtoReq> requests = new ArrayList<>(group.size());
+        for (PendingDeal pending : group) {
+            requests.add(pending.request());
+        }
+        groupSizes.record(group.size());
+        try {
+            List<DealOutcome> outcomes = bulkDealIngestor.ingest(requests);
+            for (int index = 0; index < group.size(); index++) {
+                group.get(index).result().complete(outcomes.get(index));
+            }
+        } catch (Throwable ex) {
+            // Errors included: the committer thread must survive, or every later caller waits for nothing.
+            log.error("Failed to commit group of {} deals: {}", group.size(), ex.getMessage(), ex);
+            for (PendingDeal pending : group) {
+                pending.result().completeExceptionally(ex);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (committer.isAlive()) {
+            committer.join();
+        }
+    }
+
+    private record PendingDeal(DealDtoReq request, CompletableFuture<DealOutcome> result) {
+    }
+}
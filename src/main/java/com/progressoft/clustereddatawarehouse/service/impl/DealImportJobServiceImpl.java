@@ -0,0 +1,135 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.progressoft.clustereddatawarehouse.config.ImportJobProperties;
+import com.progressoft.clustereddatawarehouse.exception.ImportJobNotFoundException;
+import com.progressoft.clustereddatawarehouse.exception.ImportQueueFullException;
+import com.progressoft.clustereddatawarehouse.model.dto.ImportJobStatus;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportJobService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class DealImportJobServiceImpl implements DealImportJobService, DisposableBean {
+
+    private static final String QUEUE_FULL_MESSAGE = "Import queue is full, retry later";
+
+    private final DealImportService dealImportService;
+    private final ImportJobProperties importJobProperties;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public DealImportJobServiceImpl(DealImportService dealImportService, ImportJobProperties importJobProperties) {
+        this.dealImportService = dealImportService;
+        this.importJobProperties = importJobProperties;
+        this.workers = new ThreadPoolExecutor(importJobProperties.getWorkers(), importJobProperties.getWorkers(),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(importJobProperties.getQueueCapacity()),
+            new CustomizableThreadFactory("deal-import-job-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public ImportJobStatus submit(final InputStream body) throws IOException {
+        if (workers.getQueue().remainingCapacity() == 0) {
+            throw new ImportQueueFullException(QUEUE_FULL_MESSAGE);
+        }
+
+        Path spool = Files.createTempFile("deal-import-", ".json");
+        long size;
+        try {
+            size = Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            Files.deleteIfExists(spool);
+            throw ex;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), spool, importJobProperties.getMaxRetainedErrors());
+        jobs.put(job.getId(), job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(spool);
+            throw new ImportQueueFullException(QUEUE_FULL_MESSAGE);
+        }
+
+        log.info("Queued import job {} ({} bytes)", job.getId(), size);
+        return job.status();
+    }
+
+    @Override
+    public CompletableFuture<ImportJobStatus> awaitStatus(final String jobId, final Duration wait) {
+        ImportJob job = findJob(jobId);
+        long waitMillis = Math.min(wait.toMillis(), importJobProperties.getMaxWait().toMillis());
+        if (waitMillis <= 0 || job.getCompletion().isDone()) {
+            return CompletableFuture.completedFuture(job.status());
+        }
+        return job.getCompletion().copy()
+            .completeOnTimeout(null, waitMillis, TimeUnit.MILLISECONDS)
+            .thenApply(ignored -> job.status());
+    }
+
+    private void run(ImportJob job) {
+        job.start();
+        log.info("Starting import job {}", job.getId());
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(job.getSpool()))) {
+            dealImportService.importStream(input, job::record);
+            job.complete();
+        } catch (Exception ex) {
+            log.error("Import job {} failed: {}", job.getId(), ex.getMessage(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            deleteSpool(job);
+        }
+        log.info("Finished import job {} - {}", job.getId(), job.status().getState());
+    }
+
+    private ImportJob findJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException("Import job not found: " + jobId);
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${warehouse.imports.eviction-interval:1m}")
+    public void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(importJobProperties.getRetention());
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void deleteSpool(ImportJob job) {
+        try {
+            Files.deleteIfExists(job.getSpool());
+        } catch (IOException ex) {
+            log.warn("Could not delete spool file {}: {}", job.getSpool(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,98 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddatawarehouse.config.IngestionProperties;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DealImportServiceImpl implements DealImportService {
+
+    private static final String MALFORMED_MESSAGE = "Malformed deal: ";
+
+    private final BulkDealIngestor bulkDealIngestor;
+    private final IngestionProperties ingestionProperties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void importStream(final InputStream input, final Consumer<DealOutcome> outcomeConsumer) throws IOException {
+        int chunkSize = ingestionProperties.getChunkSize();
+        List<DealDtoReq> requests = new ArrayList<>(chunkSize);
+        Map<Integer, DealOutcome> malformed = new HashMap<>();
+        int window = 0;
+        long total = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    DealDtoReq request = objectMapper.treeToValue(node, DealDtoReq.class);
+                    if (request != null) {
+                        requests.add(request);
+                    } else {
+                        malformed.put(window, DealOutcome.failure(null, DealErrorCode.MALFORMED,
+                            DealBatchValidator.NULL_DEAL_MESSAGE));
+                    }
+                } catch (JsonProcessingException ex) {
+                    malformed.put(window, DealOutcome.failure(node.path("id").asText(null),
+                        DealErrorCode.MALFORMED, MALFORMED_MESSAGE + ex.getOriginalMessage()));
+                }
+                total++;
+
+                if (++window == chunkSize) {
+                    flush(requests, malformed, window, outcomeConsumer);
+                    window = 0;
+                }
+                token = parser.nextToken();
+            }
+        }
+
+        if (window > 0) {
+            flush(requests, malformed, window, outcomeConsumer);
+        }
+        log.info("Streaming import completed - Total: {}", total);
+    }
+
+    private void flush(List<DealDtoReq> requests, Map<Integer, DealOutcome> malformed, int window,
+                       Consumer<DealOutcome> outcomeConsumer) {
+        Iterator<DealOutcome> ingested = requests.isEmpty()
+            ? null
+            : bulkDealIngestor.ingest(requests).iterator();
+
+        for (int position = 0; position < window; position++) {
+            DealOutcome outcome = malformed.get(position);
+            outcomeConsumer.accept(outcome != null ? outcome : ingested.next());
+        }
+
+        requests.clear();
+        malformed.clear();
+    }
+}
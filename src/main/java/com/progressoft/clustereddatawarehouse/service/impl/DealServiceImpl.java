@@ -1,20 +1,41 @@
 package com.progressoft.clustereddatawarehouse.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Currency;
+import java.util.Comparator;
 import java.util.List;
 
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.progressoft.clustereddatawarehouse.dedup.DealIdFilter;
+import com.progressoft.clustereddatawarehouse.exception.DealNotFoundException;
 import com.progressoft.clustereddatawarehouse.exception.DuplicateDealIdException;
 import com.progressoft.clustereddatawarehouse.exception.InvalidCurrencyCodeException;
+import com.progressoft.clustereddatawarehouse.journal.DealJournal;
 import com.progressoft.clustereddatawarehouse.mapper.DealMapper;
+import com.progressoft.clustereddatawarehouse.metrics.DealMetrics;
 import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchResponseMode;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealError;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPage;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPageOrder;
 import com.progressoft.clustereddatawarehouse.model.entity.Deal;
 import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+import com.progressoft.clustereddatawarehouse.repositorie.DealSpecifications;
+import com.progressoft.clustereddatawarehouse.rollup.DealRollupBuffer;
 import com.progressoft.clustereddatawarehouse.service.inter.DealService;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+import com.progressoft.clustereddatawarehouse.sharding.SortedMerge;
+import com.progressoft.clustereddatawarehouse.validation.CurrencyCodes;
+import com.progressoft.clustereddatawarehouse.validation.CurrencyPair;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,53 +45,107 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DealServiceImpl implements DealService {
 
+    public static final String DEAL_CACHE = "deals";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Sort TIMESTAMP_ORDER = Sort.by("timestamp", "id");
+    private static final Comparator<Deal> BY_TIMESTAMP = Comparator.comparing(Deal::getTimestamp)
+        .thenComparing(Deal::getId);
+    private static final Comparator<Deal> BY_ID = Comparator.comparing(Deal::getId);
+
     private final DealRepository dealRepository;
     private final DealMapper dealMapper;
-
+    private final DealIdFilter dealIdFilter;
+    private final PartitionedBatchIngestor partitionedBatchIngestor;
+    private final DealMetrics dealMetrics;
+    private final DealRollupBuffer dealRollupBuffer;
+    private final DealGroupCommitter dealGroupCommitter;
+    private final DealJournal dealJournal;
+    private final DealShardRouter dealShardRouter;
+
+    /**
+     * A journaled deal is only stored, or found to be a duplicate, when it is replayed, so it is cached by
+     * {@link com.progressoft.clustereddatawarehouse.journal.DealJournalReplayer} instead of here.
+     */
     @Override
+    @CachePut(cacheNames = DEAL_CACHE, key = "#dealRequestDto.id", condition = "!@dealJournal.enabled")
     public DealDtoRes create(final DealDtoReq dealRequestDto) {
         log.info("Attempting to create deal with ID: {}", dealRequestDto.getId());
 
         validateCurrencyCodes(dealRequestDto);
 
-        if (dealRepository.existsById(dealRequestDto.getId())) {
-            log.warn("Duplicate deal ID detected: {}", dealRequestDto.getId());
-            throw new DuplicateDealIdException("Request is already imported.");
+        if (dealJournal.isEnabled()) {
+            dealJournal.append(dealRequestDto);
+            log.info("Deal journaled with ID: {}", dealRequestDto.getId());
+            return dealMapper.toResponseDto(dealMapper.toEntity(dealRequestDto));
         }
 
-        Deal deal = dealMapper.toEntity(dealRequestDto);
-        Deal savedDeal = dealRepository.save(deal);
+        if (dealGroupCommitter.isEnabled()) {
+            DealDtoRes committed = dealGroupCommitter.persist(dealRequestDto);
+            log.info("Deal created successfully with ID: {}", committed.getId());
+            return committed;
+        }
+
+        Deal savedDeal = dealShardRouter.onShard(dealShardRouter.shardFor(dealRequestDto.getId()),
+            () -> insert(dealRequestDto));
+        dealIdFilter.put(savedDeal.getId());
+        dealRollupBuffer.record(savedDeal);
+        dealMetrics.success();
 
         log.info("Deal created successfully with ID: {}", savedDeal.getId());
         return dealMapper.toResponseDto(savedDeal);
     }
 
+    private Deal insert(DealDtoReq dealRequestDto) {
+        if (dealIdFilter.mightContain(dealRequestDto.getId())) {
+            if (!dealRepository.findExistingIds(List.of(dealRequestDto.getId())).isEmpty()) {
+                log.warn("Duplicate deal ID detected: {}", dealRequestDto.getId());
+                dealMetrics.duplicate();
+                throw new DuplicateDealIdException("Request is already imported.");
+            }
+            dealIdFilter.recordFalsePositive();
+        }
+
+        Deal deal = dealMapper.toEntity(dealRequestDto);
+        if (!dealRepository.insertAllIgnoringDuplicates(List.of(deal))[0]) {
+            log.warn("Duplicate deal ID detected on insert: {}", dealRequestDto.getId());
+            dealMetrics.duplicate();
+            throw new DuplicateDealIdException("Request is already imported.");
+        }
+        return deal;
+    }
+
     @Override
-    public BatchProcessingResult createBatch(final List<DealDtoReq> dealRequests) {
+    public BatchProcessingResult createBatch(final List<DealDtoReq> dealRequests, final BatchResponseMode mode) {
         log.info("Starting batch processing for {} deals", dealRequests.size());
 
-        List<DealDtoRes> successfulResults = new ArrayList<>();
-        List<String> errorMessages = new ArrayList<>();
-
-        for (DealDtoReq dealRequest : dealRequests) {
-            try {
-                DealDtoRes result = create(dealRequest);
-                successfulResults.add(result);
-                log.debug("Successfully processed deal: {}", dealRequest.getId());
-            } catch (Exception e) {
-                String errorMsg = String.format("Failed to process deal %s: %s",
-                    dealRequest.getId(), e.getMessage());
-                errorMessages.add(errorMsg);
-                log.warn("Failed to process deal: {}", errorMsg);
+        List<DealDtoRes> successfulResults = mode == BatchResponseMode.FULL ? new ArrayList<>() : null;
+        List<String> errorMessages = mode == BatchResponseMode.FULL ? new ArrayList<>() : null;
+        List<DealError> errors = mode != BatchResponseMode.SUMMARY ? new ArrayList<>() : null;
+        int failed = 0;
+
+        for (DealOutcome outcome : partitionedBatchIngestor.ingest(dealRequests)) {
+            if (outcome.isSuccess()) {
+                if (successfulResults != null) {
+                    successfulResults.add(outcome.getDeal());
+                }
+                continue;
+            }
+            failed++;
+            if (errorMessages != null) {
+                errorMessages.add(outcome.describe());
+            }
+            if (errors != null) {
+                errors.add(outcome.toError());
             }
         }
 
         BatchProcessingResult result = new BatchProcessingResult(
             dealRequests.size(),
-            successfulResults.size(),
-            errorMessages.size(),
+            dealRequests.size() - failed,
+            failed,
             successfulResults,
-            errorMessages
+            errorMessages,
+            errors
         );
 
         log.info("Batch processing completed - Total: {}, Success: {}, Failed: {}",
@@ -82,18 +157,69 @@ public class DealServiceImpl implements DealService {
     @Override
     public List<DealDtoRes> getAllDeals() {
         log.info("Retrieving all deals from database");
-        List<Deal> deals = dealRepository.findAll();
+        List<Deal> deals = dealShardRouter.onEachShard(dealRepository::findAll).stream()
+            .flatMap(List::stream)
+            .toList();
         List<DealDtoRes> dealDtos = dealMapper.toResponseDtoList(deals);
         log.info("Retrieved {} deals", dealDtos.size());
         return dealDtos;
     }
 
+    @Override
+    @Cacheable(cacheNames = DEAL_CACHE)
+    public DealDtoRes getDeal(final String id) {
+        return dealShardRouter.onShard(dealShardRouter.shardFor(id), () -> dealRepository.findById(id))
+            .map(dealMapper::toResponseDto)
+            .orElseThrow(() -> new DealNotFoundException("Deal not found: " + id));
+    }
+
+    @Override
+    public DealPage getDealsPage(final String cursor, final int size, final DealPageOrder order) {
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        DealCursor position = cursor != null ? DealCursor.decode(order, cursor) : null;
+
+        List<Deal> deals = SortedMerge.merge(dealShardRouter.onEachShard(() -> findPage(order, position, limit)),
+            order == DealPageOrder.TIMESTAMP ? BY_TIMESTAMP : BY_ID, limit.max());
+
+        String nextCursor = deals.size() == limit.max()
+            ? DealCursor.encode(order, deals.get(deals.size() - 1))
+            : null;
+        return new DealPage(dealMapper.toResponseDtoList(deals), nextCursor);
+    }
+
+    private List<Deal> findPage(DealPageOrder order, DealCursor position, Limit limit) {
+        if (order == DealPageOrder.TIMESTAMP) {
+            return position == null
+                ? dealRepository.findAllByOrderByTimestampAscIdAsc(limit)
+                : dealRepository.findPageAfter(position.timestamp(), position.id(), limit);
+        }
+        return position == null
+            ? dealRepository.findAllByOrderByIdAsc(limit)
+            : dealRepository.findByIdGreaterThanOrderByIdAsc(position.id(), limit);
+    }
+
+    @Override
+    public List<DealDtoRes> findDeals(final LocalDateTime from, final LocalDateTime to, final String pair) {
+        List<Specification<Deal>> filters = new ArrayList<>();
+        if (from != null) {
+            filters.add(DealSpecifications.timestampFrom(from));
+        }
+        if (to != null) {
+            filters.add(DealSpecifications.timestampBefore(to));
+        }
+        if (pair != null) {
+            CurrencyPair currencyPair = CurrencyPair.parse(pair);
+            filters.add(DealSpecifications.currencyPair(currencyPair.fromCurrency(), currencyPair.toCurrency()));
+        }
+        Specification<Deal> specification = Specification.allOf(filters);
+        return dealMapper.toResponseDtoList(SortedMerge.merge(
+            dealShardRouter.onEachShard(() -> dealRepository.findAll(specification, TIMESTAMP_ORDER)), BY_TIMESTAMP));
+    }
+
     private void validateCurrencyCodes(DealDtoReq dto) {
-        try {
-            Currency.getInstance(dto.getFromCurrency());
-            Currency.getInstance(dto.getToCurrency());
-        } catch (IllegalArgumentException ex) {
-            log.error("Invalid currency code provided: {}", ex.getMessage());
+        if (!CurrencyCodes.isValid(dto.getFromCurrency()) || !CurrencyCodes.isValid(dto.getToCurrency())) {
+            log.error("Invalid currency code provided: {} -> {}", dto.getFromCurrency(), dto.getToCurrency());
+            dealMetrics.invalidCurrency();
             throw new InvalidCurrencyCodeException("Invalid currency code provided");
         }
     }
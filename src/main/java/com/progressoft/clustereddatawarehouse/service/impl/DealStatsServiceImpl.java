@@ -0,0 +1,104 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import com.progressoft.clustereddatawarehouse.model.dto.DealStats;
+import com.progressoft.clustereddatawarehouse.model.dto.StatsGranularity;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollupId;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRollupRepository;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRollupSpecifications;
+import com.progressoft.clustereddatawarehouse.rollup.DealRollupBuffer;
+import com.progressoft.clustereddatawarehouse.service.inter.DealStatsService;
+import com.progressoft.clustereddatawarehouse.validation.CurrencyPair;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Answers aggregate queries from the hourly {@code deal_rollups} rows plus the deltas still buffered in
+ * {@link DealRollupBuffer}, so recently imported deals are included without flushing on the read path. Daily
+ * buckets are folded from the hours in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class DealStatsServiceImpl implements DealStatsService {
+
+    private static final Comparator<DealRollup> BUCKET_COMPARATOR = Comparator
+        .comparing((DealRollup rollup) -> rollup.getId().getBucketStart())
+        .thenComparing(rollup -> rollup.getId().getFromCurrency().getCurrencyCode())
+        .thenComparing(rollup -> rollup.getId().getToCurrency().getCurrencyCode());
+
+    private final DealRollupRepository rollupRepository;
+    private final DealRollupBuffer rollupBuffer;
+
+    @Override
+    public List<DealStats> getStats(final LocalDateTime from, final LocalDateTime to, final String pair,
+                                    final StatsGranularity granularity) {
+        ChronoUnit unit = granularity == StatsGranularity.DAY ? ChronoUnit.DAYS : ChronoUnit.HOURS;
+        LocalDateTime bucketFrom = from != null ? from.truncatedTo(unit) : null;
+        CurrencyPair currencyPair = pair != null ? CurrencyPair.parse(pair) : null;
+        List<Specification<DealRollup>> filters = new ArrayList<>();
+        if (bucketFrom != null) {
+            filters.add(DealRollupSpecifications.bucketFrom(bucketFrom));
+        }
+        if (to != null) {
+            filters.add(DealRollupSpecifications.bucketBefore(to));
+        }
+        if (currencyPair != null) {
+            filters.add(DealRollupSpecifications.currencyPair(currencyPair.fromCurrency(), currencyPair.toCurrency()));
+        }
+
+        Map<DealRollupId, DealRollup> buckets = new HashMap<>();
+        for (DealRollup hour : rollupRepository.findAll(Specification.allOf(filters))) {
+            add(buckets, hour, unit);
+        }
+        for (DealRollup delta : rollupBuffer.pending()) {
+            if (matches(delta.getId(), bucketFrom, to, currencyPair)) {
+                add(buckets, delta, unit);
+            }
+        }
+        return buckets.values().stream().sorted(BUCKET_COMPARATOR).map(DealStatsServiceImpl::toStats).toList();
+    }
+
+    private static boolean matches(DealRollupId id, LocalDateTime from, LocalDateTime to, CurrencyPair pair) {
+        return (from == null || !id.getBucketStart().isBefore(from))
+            && (to == null || id.getBucketStart().isBefore(to))
+            && (pair == null || pair.fromCurrency().equals(id.getFromCurrency())
+                && pair.toCurrency().equals(id.getToCurrency()));
+    }
+
+    private static void add(Map<DealRollupId, DealRollup> buckets, DealRollup hour, ChronoUnit unit) {
+        DealRollupId bucket = new DealRollupId(hour.getId().getFromCurrency(), hour.getId().getToCurrency(),
+            hour.getId().getBucketStart().truncatedTo(unit));
+        buckets.merge(bucket, new DealRollup(bucket, hour.getDealCount(), hour.getAmountSum(), hour.getAmountMin(),
+            hour.getAmountMax()), DealStatsServiceImpl::combine);
+    }
+
+    private static DealRollup combine(DealRollup left, DealRollup right) {
+        return new DealRollup(left.getId(),
+            left.getDealCount() + right.getDealCount(),
+            left.getAmountSum().add(right.getAmountSum()),
+            left.getAmountMin().min(right.getAmountMin()),
+            left.getAmountMax().max(right.getAmountMax()));
+    }
+
+    private static DealStats toStats(DealRollup rollup) {
+        return new DealStats(
+            rollup.getId().getFromCurrency().getCurrencyCode(),
+            rollup.getId().getToCurrency().getCurrencyCode(),
+            rollup.getId().getBucketStart(),
+            rollup.getDealCount(),
+            rollup.getAmountSum(),
+            rollup.getAmountMin(),
+            rollup.getAmountMax());
+    }
+}
@@ -0,0 +1,105 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.DealError;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.model.dto.ImportJobState;
+import com.progressoft.clustereddatawarehouse.model.dto.ImportJobStatus;
+
+import lombok.Getter;
+
+final class ImportJob {
+
+    @Getter
+    private final String id;
+    @Getter
+    private final Path spool;
+    private final int maxRetainedErrors;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicLong successful = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Queue<String> errorMessages = new ConcurrentLinkedQueue<>();
+    private final Queue<DealError> errors = new ConcurrentLinkedQueue<>();
+    @Getter
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private volatile ImportJobState state = ImportJobState.QUEUED;
+    private volatile Instant startedAt;
+    @Getter
+    private volatile Instant finishedAt;
+    private volatile String failureReason;
+
+    ImportJob(String id, Path spool, int maxRetainedErrors) {
+        this.id = id;
+        this.spool = spool;
+        this.maxRetainedErrors = maxRetainedErrors;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        state = ImportJobState.RUNNING;
+    }
+
+    void record(DealOutcome outcome) {
+        if (outcome.isSuccess()) {
+            successful.incrementAndGet();
+        } else if (failed.incrementAndGet() <= maxRetainedErrors) {
+            errorMessages.add(outcome.describe());
+            errors.add(outcome.toError());
+        }
+    }
+
+    void complete() {
+        finish(ImportJobState.COMPLETED);
+    }
+
+    void fail(String reason) {
+        failureReason = reason;
+        finish(ImportJobState.FAILED);
+    }
+
+    private void finish(ImportJobState finalState) {
+        finishedAt = Instant.now();
+        state = finalState;
+        completion.complete(null);
+    }
+
+    ImportJobStatus status() {
+        ImportJobState currentState = state;
+        long successCount = successful.get();
+        long failureCount = failed.get();
+        long processed = successCount + failureCount;
+
+        ImportJobStatus status = new ImportJobStatus()
+            .setJobId(id)
+            .setState(currentState)
+            .setProcessedDeals(processed)
+            .setSuccessfulDeals(successCount)
+            .setFailedDeals(failureCount)
+            .setOmittedErrors(Math.max(0, failureCount - maxRetainedErrors))
+            .setSubmittedAt(submittedAt)
+            .setStartedAt(startedAt)
+            .setFinishedAt(finishedAt)
+            .setFailureReason(failureReason);
+
+        if (startedAt != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+            status.setDealsPerSecond(processed * 1000.0 / millis);
+        }
+        if (currentState == ImportJobState.COMPLETED) {
+            status.setResult(new BatchProcessingResult((int) processed, (int) successCount, (int) failureCount,
+                List.of(), List.copyOf(errorMessages), List.copyOf(errors)));
+        }
+        return status;
+    }
+}
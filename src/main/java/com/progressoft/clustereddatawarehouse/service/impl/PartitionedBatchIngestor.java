@@ -0,0 +1,139 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.config.IngestionProperties;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits a batch into partitions by id hash and ingests them concurrently on a bounded worker pool.
+ * Every occurrence of an id lands in the same partition, which is processed chunk by chunk in input
+ * order, so the first valid occurrence always wins regardless of thread scheduling. With sharding there is
+ * one partition per shard, so the shards are written in parallel.
+ */
+@Component
+@Slf4j
+public class PartitionedBatchIngestor implements DisposableBean {
+
+    static final String PERSISTENCE_FAILED_MESSAGE = "The deal could not be stored. Please retry.";
+
+    private final BulkDealIngestor bulkDealIngestor;
+    private final IngestionProperties ingestionProperties;
+    private final DealShardRouter dealShardRouter;
+    private final ExecutorService workers;
+
+    public PartitionedBatchIngestor(BulkDealIngestor bulkDealIngestor, IngestionProperties ingestionProperties,
+                                    DealShardRouter dealShardRouter) {
+        this.bulkDealIngestor = bulkDealIngestor;
+        this.ingestionProperties = ingestionProperties;
+        this.dealShardRouter = dealShardRouter;
+        int parallelism = Math.max(ingestionProperties.getParallelism(), dealShardRouter.shardCount());
+        this.workers = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, ingestionProperties.getQueueCapacity())),
+            new CustomizableThreadFactory("deal-ingest-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public List<DealOutcome> ingest(final List<DealDtoReq> requests) {
+        DealOutcome[] outcomes = new DealOutcome[requests.size()];
+        int partitions = dealShardRouter.isSharded()
+            ? dealShardRouter.shardCount()
+            : Math.min(ingestionProperties.getParallelism(), requests.size() / Math.max(1, ingestionProperties.getChunkSize()));
+
+        if (partitions <= 1) {
+            ingestPartition(requests, IntStream.range(0, requests.size()).toArray(), outcomes);
+            return Arrays.asList(outcomes);
+        }
+
+        log.debug("Ingesting {} deals in {} partitions", requests.size(), partitions);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(partitions);
+        for (int[] partition : partition(requests, partitions)) {
+            if (partition.length == 0) {
+                continue;
+            }
+            futures.add(CompletableFuture.runAsync(() -> ingestPartition(requests, partition, outcomes), workers));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private int[][] partition(List<DealDtoReq> requests, int partitions) {
+        int[] owners = new int[requests.size()];
+        int[] sizes = new int[partitions];
+        for (int index = 0; index < requests.size(); index++) {
+            DealDtoReq request = requests.get(index);
+            String id = request != null ? request.getId() : null;
+            owners[index] = dealShardRouter.isSharded() && id != null
+                ? dealShardRouter.shardFor(id)
+                : Math.floorMod(Objects.hashCode(id), partitions);
+            sizes[owners[index]]++;
+        }
+
+        int[][] indexes = new int[partitions][];
+        for (int partition = 0; partition < partitions; partition++) {
+            indexes[partition] = new int[sizes[partition]];
+            sizes[partition] = 0;
+        }
+        for (int index = 0; index < owners.length; index++) {
+            indexes[owners[index]][sizes[owners[index]]++] = index;
+        }
+        return indexes;
+    }
+
+    private void ingestPartition(List<DealDtoReq> requests, int[] indexes, DealOutcome[] outcomes) {
+        int chunkSize = Math.max(1, ingestionProperties.getChunkSize());
+        for (int from = 0; from < indexes.length; from += chunkSize) {
+            int to = Math.min(from + chunkSize, indexes.length);
+            List<DealDtoReq> chunk = new ArrayList<>(to - from);
+            for (int position = from; position < to; position++) {
+                chunk.add(requests.get(indexes[position]));
+            }
+
+            List<DealOutcome> chunkOutcomes = ingestChunk(chunk);
+            for (int position = from; position < to; position++) {
+                outcomes[indexes[position]] = chunkOutcomes.get(position - from);
+            }
+        }
+    }
+
+    private List<DealOutcome> ingestChunk(List<DealDtoReq> chunk) {
+        try {
+            return bulkDealIngestor.ingest(chunk);
+        } catch (DataAccessException ex) {
+            log.error("Failed to persist chunk of {} deals", chunk.size(), ex);
+            return chunk.stream()
+                .map(request -> DealOutcome.failure(request != null ? request.getId() : null,
+                    DealErrorCode.PERSISTENCE_FAILED, PERSISTENCE_FAILED_MESSAGE))
+                .toList();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+}
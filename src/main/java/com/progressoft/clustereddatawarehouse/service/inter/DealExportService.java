@@ -0,0 +1,16 @@
+package com.progressoft.clustereddatawarehouse.service.inter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import com.progressoft.clustereddatawarehouse.model.dto.ExportFormat;
+
+public interface DealExportService {
+
+    /**
+     * Streams every deal with {@code from <= timestamp < to} to {@code output}; a {@code null} bound is open.
+     */
+    void export(final ExportFormat format, final LocalDateTime from, final LocalDateTime to,
+                final OutputStream output) throws IOException;
+}
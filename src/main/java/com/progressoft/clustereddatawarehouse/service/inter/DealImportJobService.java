@@ -0,0 +1,18 @@
+package com.progressoft.clustereddatawarehouse.service.inter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import com.progressoft.clustereddatawarehouse.model.dto.ImportJobStatus;
+
+public interface DealImportJobService {
+
+    ImportJobStatus submit(final InputStream body) throws IOException;
+
+    /**
+     * Completes with the job status as soon as the job finishes, or after {@code wait} with its current progress.
+     */
+    CompletableFuture<ImportJobStatus> awaitStatus(final String jobId, final Duration wait);
+}
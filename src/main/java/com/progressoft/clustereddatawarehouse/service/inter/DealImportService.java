@@ -0,0 +1,16 @@
+package com.progressoft.clustereddatawarehouse.service.inter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+
+public interface DealImportService {
+
+    /**
+     * Reads deals from a JSON array or newline-delimited JSON stream and persists them in bounded chunks,
+     * handing every per-deal outcome to {@code outcomeConsumer} in input order.
+     */
+    void importStream(final InputStream input, final Consumer<DealOutcome> outcomeConsumer) throws IOException;
+}
@@ -1,16 +1,26 @@
 package com.progressoft.clustereddatawarehouse.service.inter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchResponseMode;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPage;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPageOrder;
 
 public interface DealService {
 
     DealDtoRes create(final DealDtoReq dealRequestDto);
 
-    BatchProcessingResult createBatch(final List<DealDtoReq> dealRequests);
+    BatchProcessingResult createBatch(final List<DealDtoReq> dealRequests, final BatchResponseMode mode);
 
     List<DealDtoRes> getAllDeals();
+
+    DealDtoRes getDeal(final String id);
+
+    DealPage getDealsPage(final String cursor, final int size, final DealPageOrder order);
+
+    List<DealDtoRes> findDeals(final LocalDateTime from, final LocalDateTime to, final String pair);
 }
\ No newline at end of file
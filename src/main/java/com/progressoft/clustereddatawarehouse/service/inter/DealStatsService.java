@@ -0,0 +1,13 @@
+package com.progressoft.clustereddatawarehouse.service.inter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.progressoft.clustereddatawarehouse.model.dto.DealStats;
+import com.progressoft.clustereddatawarehouse.model.dto.StatsGranularity;
+
+public interface DealStatsService {
+
+    List<DealStats> getStats(final LocalDateTime from, final LocalDateTime to, final String pair,
+                             final StatsGranularity granularity);
+}
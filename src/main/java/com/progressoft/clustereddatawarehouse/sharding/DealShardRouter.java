@@ -0,0 +1,156 @@
+package com.progressoft.clustereddatawarehouse.sharding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.progressoft.clustereddatawarehouse.config.ShardingProperties;
+
+/**
+ * Maps deal ids to shards on a consistent-hash ring and runs work against a shard by binding it to the
+ * current thread, where {@link DealShardRoutingDataSource} picks it up when a connection is opened.
+ * Work must start its own transaction inside {@link #onShard}; a transaction already open keeps the
+ * connection, and so the shard, it began with. Without sharding there is a single shard 0 and binding it
+ * has no effect.
+ */
+@Component
+public class DealShardRouter implements DisposableBean {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final int shardCount;
+    private final long[] ringPoints;
+    private final int[] ringOwners;
+    private final ExecutorService scatterPool;
+
+    public DealShardRouter(ShardingProperties properties) {
+        this.shardCount = properties.isEnabled() ? Math.max(1, properties.getShards().size()) : 1;
+        int virtualNodes = Math.max(1, properties.getVirtualNodes());
+
+        long[][] ring = new long[shardCount * virtualNodes][];
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring[shard * virtualNodes + node] = new long[] {hash("shard-" + shard + "#" + node), shard};
+            }
+        }
+        Arrays.sort(ring, (left, right) -> Long.compare(left[0], right[0]));
+        this.ringPoints = new long[ring.length];
+        this.ringOwners = new int[ring.length];
+        for (int point = 0; point < ring.length; point++) {
+            ringPoints[point] = ring[point][0];
+            ringOwners[point] = (int) ring[point][1];
+        }
+
+        this.scatterPool = shardCount > 1
+            ? new ThreadPoolExecutor(shardCount, shardCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("deal-shard-"))
+            : null;
+    }
+
+    static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardFor(String id) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        int point = Arrays.binarySearch(ringPoints, hash(id));
+        if (point < 0) {
+            point = -point - 1;
+        }
+        return ringOwners[point == ringPoints.length ? 0 : point];
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    public void runOnShard(int shard, Runnable work) {
+        onShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work once per shard, concurrently when there are several, and returns the results in shard order.
+     */
+    public <T> List<T> onEachShard(Supplier<T> work) {
+        if (scatterPool == null) {
+            return List.of(onShard(0, work));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> onShard(target, work), scatterPool));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Groups items by the shard owning their id, in ascending shard order.
+     */
+    public <T> Map<Integer, List<T>> groupByShard(Collection<T> items, Function<T, String> id) {
+        Map<Integer, List<T>> groups = new TreeMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(shardFor(id.apply(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    @Override
+    public void destroy() {
+        if (scatterPool != null) {
+            scatterPool.shutdown();
+        }
+    }
+
+    // String.hashCode is specified, so placement is stable across JVMs; the murmur3 finalizer spreads similar ids
+    private static long hash(String value) {
+        long hash = value.hashCode();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
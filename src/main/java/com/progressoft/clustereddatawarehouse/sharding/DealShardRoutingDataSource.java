@@ -0,0 +1,29 @@
+package com.progressoft.clustereddatawarehouse.sharding;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hands out connections of the shard bound by {@link DealShardRouter}, or of shard 0 when none is bound.
+ */
+public class DealShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return DealShardRouter.currentShard();
+    }
+
+    @Override
+    public void close() {
+        for (Map.Entry<Object, DataSource> shard : getResolvedDataSources().entrySet()) {
+            if (shard.getValue() instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+}
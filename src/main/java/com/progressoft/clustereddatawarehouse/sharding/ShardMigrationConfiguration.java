@@ -0,0 +1,27 @@
+package com.progressoft.clustereddatawarehouse.sharding;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Runs the Flyway migrations once per shard, or once when sharding is off. {@code spring.flyway.enabled} is
+ * checked again here because an AOT build fixes the Flyway auto-configuration at build time, and the CDS
+ * training run in the Docker image has to refresh the context without a database.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ShardMigrationConfiguration {
+
+    @Bean
+    public FlywayMigrationStrategy shardedMigration(DealShardRouter router, Environment environment) {
+        return flyway -> {
+            if (!environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                return;
+            }
+            for (int shard = 0; shard < router.shardCount(); shard++) {
+                router.onShard(shard, flyway::migrate);
+            }
+        };
+    }
+}
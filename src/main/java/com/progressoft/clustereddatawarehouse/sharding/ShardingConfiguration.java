@@ -0,0 +1,48 @@
+package com.progressoft.clustereddatawarehouse.sharding;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.progressoft.clustereddatawarehouse.config.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the single datasource with one pool per configured shard behind a {@link DealShardRoutingDataSource}.
+ * {@link ShardMigrationConfiguration} runs the Flyway migrations on every shard.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "warehouse.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean
+    @Primary
+    public DealShardRoutingDataSource dataSource(ShardingProperties properties) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("warehouse.sharding.enabled requires at least one warehouse.sharding.shards entry");
+        }
+        Map<Object, Object> pools = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shards.get(shard).getUrl())
+                .username(shards.get(shard).getUsername())
+                .password(shards.get(shard).getPassword())
+                .build();
+            pool.setPoolName("deal-shard-" + shard);
+            pool.setMaximumPoolSize(shards.get(shard).getMaximumPoolSize());
+            pools.put(shard, pool);
+        }
+        DealShardRoutingDataSource routing = new DealShardRoutingDataSource();
+        routing.setTargetDataSources(pools);
+        routing.setDefaultTargetDataSource(pools.get(0));
+        return routing;
+    }
+}
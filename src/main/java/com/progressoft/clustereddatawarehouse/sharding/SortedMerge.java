@@ -0,0 +1,50 @@
+package com.progressoft.clustereddatawarehouse.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of per-shard results that are each already sorted.
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order) {
+        return merge(sorted, order, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first {@code limit} elements of the merged order.
+     */
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, int limit) {
+        if (sorted.size() == 1) {
+            List<T> only = sorted.get(0);
+            return only.size() <= limit ? only : only.subList(0, limit);
+        }
+        // Each head is {list index, position}; ties fall back to the list index so the merge is stable
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+            Comparator.<int[], T>comparing(head -> sorted.get(head[0]).get(head[1]), order)
+                .thenComparingInt(head -> head[0]));
+        int total = 0;
+        for (int list = 0; list < sorted.size(); list++) {
+            total += sorted.get(list).size();
+            if (!sorted.get(list).isEmpty()) {
+                heads.add(new int[] {list, 0});
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<T> source = sorted.get(head[0]);
+            merged.add(source.get(head[1]));
+            if (++head[1] < source.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,63 @@
+package com.progressoft.clustereddatawarehouse.validation;
+
+import java.nio.ByteBuffer;
+import java.util.Currency;
+
+/**
+ * ISO 4217 lookup table indexed by the three upper-case letters of a code, so resolving or rejecting
+ * a code is a bounds check and an array read instead of a map lookup plus an exception.
+ */
+public final class CurrencyCodes {
+
+    private static final int LETTERS = 26;
+    private static final Currency[] TABLE = new Currency[LETTERS * LETTERS * LETTERS];
+
+    static {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int index = index(currency.getCurrencyCode());
+            if (index >= 0) {
+                TABLE[index] = currency;
+            }
+        }
+    }
+
+    private CurrencyCodes() {
+    }
+
+    /**
+     * @return the currency for {@code code}, or {@code null} when it is not a known ISO 4217 code
+     */
+    public static Currency lookup(CharSequence code) {
+        int index = index(code);
+        return index >= 0 ? TABLE[index] : null;
+    }
+
+    /**
+     * @return the currency whose ASCII code starts at {@code offset}, or {@code null} when it is not a known ISO 4217 code
+     */
+    public static Currency lookup(ByteBuffer buffer, int offset) {
+        int index = index(buffer.get(offset), buffer.get(offset + 1), buffer.get(offset + 2));
+        return index >= 0 ? TABLE[index] : null;
+    }
+
+    public static boolean isValid(CharSequence code) {
+        return lookup(code) != null;
+    }
+
+    private static int index(CharSequence code) {
+        if (code == null || code.length() != 3) {
+            return -1;
+        }
+        return index(code.charAt(0), code.charAt(1), code.charAt(2));
+    }
+
+    private static int index(int firstLetter, int secondLetter, int thirdLetter) {
+        int first = firstLetter - 'A';
+        int second = secondLetter - 'A';
+        int third = thirdLetter - 'A';
+        if ((first | second | third) < 0 || first >= LETTERS || second >= LETTERS || third >= LETTERS) {
+            return -1;
+        }
+        return (first * LETTERS + second) * LETTERS + third;
+    }
+}
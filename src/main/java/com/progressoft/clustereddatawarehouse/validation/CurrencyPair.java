@@ -0,0 +1,23 @@
+package com.progressoft.clustereddatawarehouse.validation;
+
+import java.util.Currency;
+
+import com.progressoft.clustereddatawarehouse.exception.InvalidCurrencyCodeException;
+
+public record CurrencyPair(Currency fromCurrency, Currency toCurrency) {
+
+    /**
+     * Parses {@code EUR/USD} or {@code EURUSD}.
+     *
+     * @throws InvalidCurrencyCodeException when either side is not a known ISO 4217 code
+     */
+    public static CurrencyPair parse(String pair) {
+        String codes = pair.replace("/", "");
+        Currency from = codes.length() == 6 ? CurrencyCodes.lookup(codes.substring(0, 3)) : null;
+        Currency to = codes.length() == 6 ? CurrencyCodes.lookup(codes.substring(3)) : null;
+        if (from == null || to == null) {
+            throw new InvalidCurrencyCodeException("Invalid currency pair: " + pair);
+        }
+        return new CurrencyPair(from, to);
+    }
+}
@@ -0,0 +1,12 @@
+package com.progressoft.clustereddatawarehouse.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IsoCurrencyValidator implements ConstraintValidator<IsoCurrency, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || CurrencyCodes.isValid(value);
+    }
+}
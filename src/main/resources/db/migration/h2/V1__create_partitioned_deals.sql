@@ -0,0 +1,17 @@
+-- Unpartitioned equivalent of the PostgreSQL schema for tests and benchmarks.
+CREATE TABLE deal_ids (
+    id VARCHAR(255) PRIMARY KEY
+);
+
+CREATE TABLE deals (
+    id            VARCHAR(255)   NOT NULL,
+    from_currency VARCHAR(3)     NOT NULL,
+    to_currency   VARCHAR(3)     NOT NULL,
+    timestamp     TIMESTAMP(6)   NOT NULL,
+    amount        NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_deals PRIMARY KEY (id, timestamp),
+    CONSTRAINT positive_amount CHECK (amount > 0)
+);
+
+CREATE INDEX idx_deals_pair_timestamp ON deals (from_currency, to_currency, timestamp);
+CREATE INDEX idx_deals_timestamp_id ON deals (timestamp, id);
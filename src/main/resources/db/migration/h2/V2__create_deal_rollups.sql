@@ -0,0 +1,12 @@
+CREATE TABLE deal_rollups (
+    from_currency VARCHAR(3)     NOT NULL,
+    to_currency   VARCHAR(3)     NOT NULL,
+    bucket_start  TIMESTAMP(6)   NOT NULL,
+    deal_count    BIGINT         NOT NULL,
+    amount_sum    NUMERIC(38, 2) NOT NULL,
+    amount_min    NUMERIC(38, 2) NOT NULL,
+    amount_max    NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_deal_rollups PRIMARY KEY (from_currency, to_currency, bucket_start)
+);
+
+CREATE INDEX idx_deal_rollups_bucket ON deal_rollups (bucket_start);
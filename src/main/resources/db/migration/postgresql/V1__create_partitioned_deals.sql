@@ -0,0 +1,37 @@
+-- A database set up before Flyway holds the unpartitioned deals table Hibernate created (ddl-auto: create).
+-- It is set aside here and its rows are copied into the new schema at the end of this migration, which
+-- Flyway runs in a single transaction. Its deals land in deals_default until DealPartitionMaintainer moves
+-- them into monthly partitions.
+ALTER TABLE IF EXISTS deals RENAME TO deals_unpartitioned;
+
+-- Ids are unique across all partitions, which a primary key on a partitioned table cannot enforce
+-- without including the partition key. The bulk insert claims an id here before inserting the deal.
+CREATE TABLE deal_ids (
+    id VARCHAR(255) PRIMARY KEY
+);
+
+CREATE TABLE deals (
+    id            VARCHAR(255)   NOT NULL,
+    from_currency VARCHAR(3)     NOT NULL,
+    to_currency   VARCHAR(3)     NOT NULL,
+    timestamp     TIMESTAMP(6)   NOT NULL,
+    amount        NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_deals PRIMARY KEY (id, timestamp),
+    CONSTRAINT positive_amount CHECK (amount > 0)
+) PARTITION BY RANGE (timestamp);
+
+-- Catches deals outside the monthly partitions created by DealPartitionMaintainer.
+CREATE TABLE deals_default PARTITION OF deals DEFAULT;
+
+CREATE INDEX idx_deals_pair_timestamp ON deals (from_currency, to_currency, timestamp);
+CREATE INDEX idx_deals_timestamp_id ON deals (timestamp, id);
+
+DO $$
+BEGIN
+    IF to_regclass('deals_unpartitioned') IS NOT NULL THEN
+        INSERT INTO deal_ids (id) SELECT id FROM deals_unpartitioned;
+        INSERT INTO deals (id, from_currency, to_currency, timestamp, amount)
+        SELECT id, from_currency, to_currency, timestamp, amount FROM deals_unpartitioned;
+        DROP TABLE deals_unpartitioned;
+    END IF;
+END $$;
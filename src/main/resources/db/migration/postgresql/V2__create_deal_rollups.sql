@@ -0,0 +1,17 @@
+CREATE TABLE deal_rollups (
+    from_currency VARCHAR(3)     NOT NULL,
+    to_currency   VARCHAR(3)     NOT NULL,
+    bucket_start  TIMESTAMP(6)   NOT NULL,
+    deal_count    BIGINT         NOT NULL,
+    amount_sum    NUMERIC(38, 2) NOT NULL,
+    amount_min    NUMERIC(38, 2) NOT NULL,
+    amount_max    NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_deal_rollups PRIMARY KEY (from_currency, to_currency, bucket_start)
+);
+
+CREATE INDEX idx_deal_rollups_bucket ON deal_rollups (bucket_start);
+
+INSERT INTO deal_rollups (from_currency, to_currency, bucket_start, deal_count, amount_sum, amount_min, amount_max)
+SELECT from_currency, to_currency, date_trunc('hour', timestamp), count(*), sum(amount), min(amount), max(amount)
+FROM deals
+GROUP BY from_currency, to_currency, date_trunc('hour', timestamp);
@@ -0,0 +1,105 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.progressoft.clustereddatawarehouse.config.AdmissionProperties;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionProperties properties;
+    private RepositoryLatency repositoryLatency;
+    private Method existsById;
+
+    @BeforeEach
+    void setup() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AdmissionProperties();
+        repositoryLatency = new RepositoryLatency(properties, meterRegistry);
+        existsById = DealRepository.class.getMethod("existsById", Object.class);
+    }
+
+    @Test
+    void tryAcquire_OverLimit_RejectsAndCounts() {
+        AdaptiveLimiter limiter = limiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        assertEquals(2, limiter.inFlight());
+        assertEquals(1.0, meterRegistry.get("deals.admission.rejected").tag("class", "test").counter().count());
+        assertEquals(2.0, meterRegistry.get("deals.admission.limit").tag("class", "test").gauge().value());
+    }
+
+    @Test
+    void release_BusyAndDatabaseAtUsualSpeed_RaisesLimit() {
+        AdaptiveLimiter limiter = limiter(4, 1, 10);
+        record(1, 100);
+
+        for (int round = 0; round < 20; round++) {
+            saturateAndRelease(limiter);
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void release_MostlyIdle_KeepsLimit() {
+        AdaptiveLimiter limiter = limiter(8, 1, 64);
+        record(1, 100);
+
+        for (int request = 0; request < 100; request++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release();
+        }
+
+        assertEquals(8, limiter.limit());
+    }
+
+    @Test
+    void release_DatabaseSlowsDown_ShrinksLimitToMinimum() {
+        AdaptiveLimiter limiter = limiter(64, 4, 512);
+        record(1, 600);
+        record(10, 50);
+
+        assertEquals(0.5, repositoryLatency.gradient());
+        for (int request = 0; request < 100; request++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release();
+        }
+
+        assertEquals(4, limiter.limit());
+    }
+
+    private AdaptiveLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveLimiter("test", new AdmissionProperties.Limit(initial, min, max), properties.getSmoothing(),
+            repositoryLatency, meterRegistry);
+    }
+
+    private void record(long millis, int calls) {
+        for (int call = 0; call < calls; call++) {
+            repositoryLatency.record(existsById, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    private void saturateAndRelease(AdaptiveLimiter limiter) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int request = 0; request < admitted; request++) {
+            limiter.release();
+        }
+    }
+}
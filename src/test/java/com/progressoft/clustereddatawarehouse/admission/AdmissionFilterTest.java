@@ -0,0 +1,79 @@
+package com.progressoft.clustereddatawarehouse.admission;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddatawarehouse.config.AdmissionProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class AdmissionFilterTest {
+
+    private AdmissionControl admissionControl;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    void setup() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setBatch(new AdmissionProperties.Limit(1, 1, 1));
+        properties.setRejectionStatus(429);
+        properties.setRetryAfter(Duration.ofMillis(1500));
+        admissionControl = new AdmissionControl(properties, new RepositoryLatency(properties, meterRegistry),
+            meterRegistry, new ObjectMapper());
+        filter = new AdmissionFilter(admissionControl);
+    }
+
+    @Test
+    void limiterFor_OnlyDealWrites() {
+        assertNotNull(admissionControl.limiterFor("POST", "/api/deals"));
+        assertNotNull(admissionControl.limiterFor("POST", "/api/deals/batch"));
+        assertNull(admissionControl.limiterFor("GET", "/api/deals"));
+        assertNull(admissionControl.limiterFor("POST", "/api/deals/batch/stream"));
+    }
+
+    @Test
+    void doFilter_OverLimit_RejectsWithRetryAfter() throws Exception {
+        AdaptiveLimiter batch = admissionControl.limiterFor("POST", "/api/deals/batch");
+        batch.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/deals/batch"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals("{\"error\":\"Too many concurrent deal requests, retry later\"}", response.getContentAsString());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_Admitted_ReleasesAfterTheRequest() throws Exception {
+        AdaptiveLimiter batch = admissionControl.limiterFor("POST", "/api/deals/batch");
+        int[] inFlightDuringRequest = new int[1];
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request,
+                                   HttpServletResponse response) {
+                inFlightDuringRequest[0] = batch.inFlight();
+            }
+        });
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/deals/batch"), new MockHttpServletResponse(), chain);
+
+        assertEquals(1, inFlightDuringRequest[0]);
+        assertEquals(0, batch.inFlight());
+    }
+}
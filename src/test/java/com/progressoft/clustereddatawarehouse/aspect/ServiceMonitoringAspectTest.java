@@ -0,0 +1,76 @@
+package com.progressoft.clustereddatawarehouse.aspect;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.progressoft.clustereddatawarehouse.config.MonitoringProperties;
+import com.progressoft.clustereddatawarehouse.exception.DuplicateDealIdException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.service.impl.DealServiceImpl;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMonitoringAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceMonitoringAspect aspect;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        MonitoringProperties properties = new MonitoringProperties();
+        properties.setSlowCallThreshold(Duration.ofMinutes(1));
+        aspect = new ServiceMonitoringAspect(meterRegistry, properties);
+    }
+
+    @Test
+    void monitor_RecordsCallsPerMethodAndException() throws Throwable {
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod()).thenReturn(DealServiceImpl.class.getMethod("create", DealDtoReq.class));
+        when(joinPoint.proceed())
+            .thenReturn(null)
+            .thenReturn(null)
+            .thenThrow(new DuplicateDealIdException("Request is already imported."));
+
+        aspect.monitor(joinPoint);
+        aspect.monitor(joinPoint);
+        assertThrows(DuplicateDealIdException.class, () -> aspect.monitor(joinPoint));
+
+        Timer succeeded = meterRegistry.find(ServiceMonitoringAspect.TIMER_NAME)
+            .tags("class", "DealServiceImpl", "method", "create", "exception", "none").timer();
+        Timer failed = meterRegistry.find(ServiceMonitoringAspect.TIMER_NAME)
+            .tags("method", "create", "exception", "DuplicateDealIdException").timer();
+        assertNotNull(succeeded);
+        assertEquals(2, succeeded.count());
+        assertNotNull(failed);
+        assertEquals(1, failed.count());
+    }
+
+    @Test
+    void summarize_ReportsCollectionSizesInsteadOfContents() {
+        String summary = ServiceMonitoringAspect.summarize(
+            new Object[] {List.of(1, 2, 3), null, "X".repeat(100), 7, new DealDtoReq()});
+
+        assertEquals("ListN[size=3], null, " + "X".repeat(64) + "..., 7, DealDtoReq", summary);
+    }
+}
@@ -0,0 +1,64 @@
+package com.progressoft.clustereddatawarehouse.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.progressoft.clustereddatawarehouse.exception.MalformedDealBatchException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+class DealBinaryCodecTest {
+
+    @Test
+    void decode_RoundTripsEncodedDeals() throws IOException {
+        DealDtoReq first = deal("FX-é1", "USD", "EUR", LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_789), "1000000.25");
+        DealDtoReq second = deal("FX2", "GBP", "JPY", LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1), "1E+3");
+
+        List<DealDtoReq> decoded = DealBinaryCodec.decode(encode(List.of(first, second)));
+
+        assertEquals(first, decoded.get(0));
+        assertEquals(second.getTimestamp(), decoded.get(1).getTimestamp());
+        assertEquals(0, new BigDecimal("1000").compareTo(decoded.get(1).getAmount()));
+    }
+
+    @Test
+    void decode_UnknownCurrency_KeepsCodeForValidation() throws IOException {
+        List<DealDtoReq> decoded = DealBinaryCodec.decode(
+            encode(List.of(deal("FX1", "XXQ", "EUR", LocalDateTime.of(2024, 1, 1, 0, 0), "1"))));
+
+        assertEquals("XXQ", decoded.get(0).getFromCurrency());
+    }
+
+    @Test
+    void decode_TruncatedOrForeignBody_Throws() throws IOException {
+        byte[] body = encode(List.of(deal("FX1", "USD", "EUR", LocalDateTime.of(2024, 1, 1, 0, 0), "1")));
+
+        assertThrows(MalformedDealBatchException.class,
+            () -> DealBinaryCodec.decode(Arrays.copyOf(body, body.length - 1)));
+        assertThrows(MalformedDealBatchException.class,
+            () -> DealBinaryCodec.decode("[{\"id\":\"FX1\"}]".getBytes()));
+    }
+
+    private static byte[] encode(List<DealDtoReq> deals) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DealBinaryCodec.encode(deals, output);
+        return output.toByteArray();
+    }
+
+    private static DealDtoReq deal(String id, String from, String to, LocalDateTime timestamp, String amount) {
+        DealDtoReq deal = new DealDtoReq();
+        deal.setId(id);
+        deal.setFromCurrency(from);
+        deal.setToCurrency(to);
+        deal.setTimestamp(timestamp);
+        deal.setAmount(new BigDecimal(amount));
+        return deal;
+    }
+}
@@ -0,0 +1,94 @@
+package com.progressoft.clustereddatawarehouse.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:batch;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=TIMESTAMP",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+class DealBatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createBatch_InvalidRows_ReturnsPerDealErrorsAndStoresTheRest() throws Exception {
+        List<DealDtoReq> batch = List.of(
+            deal("IT1", "USD", new BigDecimal("100.00")),
+            deal("IT2", "XYZ", new BigDecimal("100.00")),
+            deal("IT3", "usd", new BigDecimal("100.00")),
+            deal("IT4", "USD", new BigDecimal("-5")),
+            deal("IT1", "USD", new BigDecimal("100.00"))
+        );
+
+        mockMvc.perform(post("/api/deals/batch")
+                .param("mode", "FAILURES")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRequests").value(5))
+                .andExpect(jsonPath("$.successfulDeals").value(1))
+                .andExpect(jsonPath("$.failedDeals").value(4))
+                .andExpect(jsonPath("$.errors[0].id").value("IT2"))
+                .andExpect(jsonPath("$.errors[0].code").value("INVALID_CURRENCY"))
+                .andExpect(jsonPath("$.errors[1].id").value("IT3"))
+                .andExpect(jsonPath("$.errors[1].code").value("INVALID_CURRENCY"))
+                .andExpect(jsonPath("$.errors[2].id").value("IT4"))
+                .andExpect(jsonPath("$.errors[2].code").value("INVALID_FIELD"))
+                .andExpect(jsonPath("$.errors[2].field").value("amount"))
+                .andExpect(jsonPath("$.errors[3].id").value("IT1"))
+                .andExpect(jsonPath("$.errors[3].code").value("DUPLICATE_IN_BATCH"));
+
+        mockMvc.perform(get("/api/deals/IT1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/deals/IT4"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createBatch_NullElement_ReportsItAsMalformed() throws Exception {
+        String batch = "[" + objectMapper.writeValueAsString(deal("IT5", "USD", new BigDecimal("100.00"))) + ",null]";
+
+        mockMvc.perform(post("/api/deals/batch")
+                .param("mode", "FAILURES")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRequests").value(2))
+                .andExpect(jsonPath("$.successfulDeals").value(1))
+                .andExpect(jsonPath("$.errors[0].code").value("MALFORMED"));
+    }
+
+    private static DealDtoReq deal(String id, String fromCurrency, BigDecimal amount) {
+        DealDtoReq deal = new DealDtoReq();
+        deal.setId(id);
+        deal.setFromCurrency(fromCurrency);
+        deal.setToCurrency("EUR");
+        deal.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30));
+        deal.setAmount(amount);
+        return deal;
+    }
+}
@@ -1,35 +1,69 @@
 package com.progressoft.clustereddatawarehouse.controller;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.progressoft.clustereddatawarehouse.codec.DealBinaryCodec;
+import com.progressoft.clustereddatawarehouse.exception.DealNotFoundException;
+import com.progressoft.clustereddatawarehouse.exception.InvalidDealException;
+import com.progressoft.clustereddatawarehouse.config.IdempotencyProperties;
+import com.progressoft.clustereddatawarehouse.idempotency.IdempotencyStore;
 import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchResponseMode;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealError;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPage;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPageOrder;
+import com.progressoft.clustereddatawarehouse.model.dto.DealStats;
+import com.progressoft.clustereddatawarehouse.model.dto.StatsGranularity;
+import com.progressoft.clustereddatawarehouse.service.inter.DealExportService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportService;
 import com.progressoft.clustereddatawarehouse.service.inter.DealService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealStatsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @WebMvcTest(DealController.class)
+@Import({IdempotencyStore.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties(IdempotencyProperties.class)
 class DealControllerTest {
 
     @Autowired
@@ -38,6 +72,15 @@ class DealControllerTest {
     @MockBean
     private DealService dealService;
 
+    @MockBean
+    private DealImportService dealImportService;
+
+    @MockBean
+    private DealExportService dealExportService;
+
+    @MockBean
+    private DealStatsService dealStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -70,14 +113,37 @@ class DealControllerTest {
                 .andExpect(jsonPath("$.amount").value(1000000));
     }
 
+    @Test
+    void createDeal_DatabaseUnavailable_ServiceUnavailableWithoutDriverMessage() throws Exception {
+        when(dealService.create(any(DealDtoReq.class)))
+            .thenThrow(new DataAccessResourceFailureException("Connection to localhost:5432 refused"));
+
+        mockMvc.perform(post("/api/deals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dealRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("The database is unavailable, retry later"));
+    }
+
+    @Test
+    void createDeal_InvalidDeal_BadRequest() throws Exception {
+        when(dealService.create(any(DealDtoReq.class))).thenThrow(new InvalidDealException("amount: must not be null"));
+
+        mockMvc.perform(post("/api/deals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dealRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("amount: must not be null"));
+    }
+
     @Test
     void createBatch_Success() throws Exception {
         List<DealDtoReq> batchRequest = Arrays.asList(dealRequest);
         BatchProcessingResult batchResult = new BatchProcessingResult(
-            1, 1, 0, Arrays.asList(dealResponse), Arrays.asList()
+            1, 1, 0, Arrays.asList(dealResponse), Arrays.asList(), Arrays.asList()
         );
 
-        when(dealService.createBatch(anyList())).thenReturn(batchResult);
+        when(dealService.createBatch(anyList(), eq(BatchResponseMode.FULL))).thenReturn(batchResult);
 
         mockMvc.perform(post("/api/deals/batch")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -88,6 +154,122 @@ class DealControllerTest {
                 .andExpect(jsonPath("$.failedDeals").value(0));
     }
 
+    @Test
+    void createBatch_UnknownCurrencyCode_LeavesRejectionToService() throws Exception {
+        DealDtoReq unknownCurrency = new DealDtoReq();
+        unknownCurrency.setId("FX002");
+        unknownCurrency.setFromCurrency("XYZ");
+        unknownCurrency.setToCurrency("EUR");
+        unknownCurrency.setTimestamp(LocalDateTime.now());
+        unknownCurrency.setAmount(BigDecimal.TEN);
+        List<DealDtoReq> batchRequest = List.of(dealRequest, unknownCurrency);
+        BatchProcessingResult batchResult = new BatchProcessingResult(
+            2, 1, 1, null, null,
+            List.of(new DealError("FX002", DealErrorCode.INVALID_CURRENCY, "fromCurrency", "Invalid currency code provided"))
+        );
+
+        when(dealService.createBatch(batchRequest, BatchResponseMode.FULL)).thenReturn(batchResult);
+
+        mockMvc.perform(post("/api/deals/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulDeals").value(1))
+                .andExpect(jsonPath("$.failedDeals").value(1))
+                .andExpect(jsonPath("$.errors[0].id").value("FX002"))
+                .andExpect(jsonPath("$.errors[0].code").value("INVALID_CURRENCY"));
+    }
+
+    @Test
+    void createBatch_RetryWithIdempotencyKey_ReturnsFirstResult() throws Exception {
+        BatchProcessingResult batchResult = new BatchProcessingResult(1, 1, 0, null, null, null);
+        String body = objectMapper.writeValueAsString(List.of(dealRequest));
+
+        when(dealService.createBatch(anyList(), eq(BatchResponseMode.SUMMARY))).thenReturn(batchResult);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/deals/batch")
+                    .param("mode", "SUMMARY")
+                    .header("Idempotency-Key", "retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.successfulDeals").value(1));
+        }
+        mockMvc.perform(post("/api/deals/batch")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(dealService, times(1)).createBatch(anyList(), eq(BatchResponseMode.SUMMARY));
+    }
+
+    @Test
+    void createBatch_SummaryMode_ReturnsCountsOnly() throws Exception {
+        BatchProcessingResult batchResult = new BatchProcessingResult(1, 1, 0, null, null, null);
+
+        when(dealService.createBatch(anyList(), eq(BatchResponseMode.SUMMARY))).thenReturn(batchResult);
+
+        mockMvc.perform(post("/api/deals/batch")
+                .param("mode", "SUMMARY")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(dealRequest))))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"totalRequests\":1,\"successfulDeals\":1,\"failedDeals\":0}", true));
+    }
+
+    @Test
+    void createBatch_BinaryBody_DecodesSameDeals() throws Exception {
+        BatchProcessingResult batchResult = new BatchProcessingResult(
+            1, 1, 0, Arrays.asList(dealResponse), Arrays.asList(), Arrays.asList()
+        );
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DealBinaryCodec.encode(List.of(dealRequest), body);
+
+        when(dealService.createBatch(List.of(dealRequest), BatchResponseMode.FULL)).thenReturn(batchResult);
+
+        mockMvc.perform(post("/api/deals/batch")
+                .contentType(DealBinaryCodec.MEDIA_TYPE_VALUE)
+                .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulDeals").value(1));
+    }
+
+    @Test
+    void createBatch_TruncatedBinaryBody_BadRequest() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DealBinaryCodec.encode(List.of(dealRequest), body);
+
+        mockMvc.perform(post("/api/deals/batch")
+                .contentType(DealBinaryCodec.MEDIA_TYPE_VALUE)
+                .content(Arrays.copyOf(body.toByteArray(), body.size() - 4)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importStream_WritesOneNdjsonLinePerDeal() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<DealOutcome> consumer = invocation.getArgument(1);
+            consumer.accept(DealOutcome.success(dealResponse));
+            consumer.accept(DealOutcome.failure("FX002", DealErrorCode.ALREADY_IMPORTED, "Request is already imported."));
+            return null;
+        }).when(dealImportService).importStream(any(), any());
+
+        MvcResult result = mockMvc.perform(post("/api/deals/batch/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(dealRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                    "{\"id\":\"FX001\",\"deal\":{\"id\":\"FX001\",\"fromCurrency\":null,\"toCurrency\":null,\"timestamp\":null,\"amount\":1000000},\"success\":true}\n"
+                        + "{\"id\":\"FX002\",\"code\":\"ALREADY_IMPORTED\",\"error\":\"Request is already imported.\",\"success\":false}\n"));
+    }
+
     @Test
     void getAllDeals_Success() throws Exception {
         List<DealDtoRes> deals = Arrays.asList(dealResponse);
@@ -99,6 +281,64 @@ class DealControllerTest {
                 .andExpect(jsonPath("$[0].id").value("FX001"));
     }
 
+    @Test
+    void getDeal_Success() throws Exception {
+        when(dealService.getDeal("FX001")).thenReturn(dealResponse);
+
+        mockMvc.perform(get("/api/deals/FX001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("FX001"));
+    }
+
+    @Test
+    void getDeal_Unknown_NotFound() throws Exception {
+        when(dealService.getDeal("FX404")).thenThrow(new DealNotFoundException("Deal not found: FX404"));
+
+        mockMvc.perform(get("/api/deals/FX404"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Deal not found: FX404"));
+    }
+
+    @Test
+    void getAllDeals_WithFilters_QueriesRange() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 14, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 15, 0, 0);
+        when(dealService.findDeals(from, to, "EUR/USD")).thenReturn(List.of(dealResponse));
+
+        mockMvc.perform(get("/api/deals")
+                .param("from", "2024-01-14T00:00:00")
+                .param("to", "2024-01-15T00:00:00")
+                .param("pair", "EUR/USD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("FX001"));
+    }
+
+    @Test
+    void getDealsPage_ReturnsContentAndNextCursor() throws Exception {
+        when(dealService.getDealsPage("abc", 1, DealPageOrder.TIMESTAMP))
+            .thenReturn(new DealPage(Arrays.asList(dealResponse), "next"));
+
+        mockMvc.perform(get("/api/deals/page")
+                .param("cursor", "abc")
+                .param("size", "1")
+                .param("order", "TIMESTAMP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value("FX001"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getStats_DefaultsToHourlyBuckets() throws Exception {
+        DealStats stats = new DealStats("EUR", "USD", LocalDateTime.of(2024, 1, 15, 10, 0), 2,
+            BigDecimal.valueOf(30), BigDecimal.TEN, BigDecimal.valueOf(20));
+        when(dealStatsService.getStats(null, null, "EURUSD", StatsGranularity.HOUR)).thenReturn(List.of(stats));
+
+        mockMvc.perform(get("/api/deals/stats").param("pair", "EURUSD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dealCount").value(2))
+                .andExpect(jsonPath("$[0].totalAmount").value(30));
+    }
+
     @Test
     void createDeal_InvalidRequest_BadRequest() throws Exception {
         DealDtoReq invalidRequest = new DealDtoReq();
@@ -109,4 +349,17 @@ class DealControllerTest {
                 .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void createDeal_UnknownCurrencyCode_BadRequestWithFieldError() throws Exception {
+        dealRequest.setFromCurrency("XYZ");
+
+        mockMvc.perform(post("/api/deals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dealRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fromCurrency").value("Currency code must be a 3-letter ISO code"));
+
+        verify(dealService, never()).create(any(DealDtoReq.class));
+    }
+}
@@ -0,0 +1,194 @@
+package com.progressoft.clustereddatawarehouse.controller;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.progressoft.clustereddatawarehouse.config.IdempotencyProperties;
+import com.progressoft.clustereddatawarehouse.config.IngestionProperties;
+import com.progressoft.clustereddatawarehouse.config.ReactiveProperties;
+import com.progressoft.clustereddatawarehouse.exception.DealNotFoundException;
+import com.progressoft.clustereddatawarehouse.idempotency.IdempotencyStore;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchResponseMode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealError;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.reactive.BlockingBridge;
+import com.progressoft.clustereddatawarehouse.service.inter.DealExportService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealService;
+import com.progressoft.clustereddatawarehouse.service.inter.DealStatsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(controllers = ReactiveDealController.class, properties = "warehouse.ingestion.chunk-size=1")
+@Import({BlockingBridge.class, IdempotencyStore.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties({IdempotencyProperties.class, IngestionProperties.class, ReactiveProperties.class})
+class ReactiveDealControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private DealService dealService;
+
+    @MockBean
+    private DealImportService dealImportService;
+
+    @MockBean
+    private DealExportService dealExportService;
+
+    @MockBean
+    private DealStatsService dealStatsService;
+
+    private DealDtoReq dealRequest;
+    private DealDtoRes dealResponse;
+
+    @BeforeEach
+    void setUp() {
+        dealRequest = new DealDtoReq();
+        dealRequest.setId("FX001");
+        dealRequest.setFromCurrency("USD");
+        dealRequest.setToCurrency("EUR");
+        dealRequest.setTimestamp(LocalDateTime.now());
+        dealRequest.setAmount(BigDecimal.valueOf(1000000));
+
+        dealResponse = new DealDtoRes();
+        dealResponse.setId("FX001");
+        dealResponse.setAmount(BigDecimal.valueOf(1000000));
+    }
+
+    @Test
+    void createDeal_Success() {
+        when(dealService.create(any(DealDtoReq.class))).thenReturn(dealResponse);
+
+        webTestClient.post().uri("/api/deals")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(dealRequest)
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody()
+            .jsonPath("$.id").isEqualTo("FX001")
+            .jsonPath("$.amount").isEqualTo(1000000);
+    }
+
+    @Test
+    void createDeal_InvalidRequest_BadRequestWithFieldErrors() {
+        dealRequest.setAmount(null);
+
+        webTestClient.post().uri("/api/deals")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(dealRequest)
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.amount").isEqualTo("must not be null");
+
+        verify(dealService, never()).create(any(DealDtoReq.class));
+    }
+
+    @Test
+    void createBatch_RetryWithIdempotencyKey_ReturnsFirstResult() {
+        BatchProcessingResult batchResult = new BatchProcessingResult(1, 1, 0, null, null, null);
+
+        when(dealService.createBatch(anyList(), eq(BatchResponseMode.SUMMARY))).thenReturn(batchResult);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post().uri("/api/deals/batch?mode=SUMMARY")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(dealRequest))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("{\"totalRequests\":1,\"successfulDeals\":1,\"failedDeals\":0}", true);
+        }
+
+        verify(dealService, times(1)).createBatch(anyList(), eq(BatchResponseMode.SUMMARY));
+    }
+
+    @Test
+    void createBatch_WithoutIdempotencyKey_StoresChunksAndMergesResults() {
+        DealDtoReq second = new DealDtoReq();
+        second.setId("FX002");
+        DealError error = new DealError("FX002", DealErrorCode.INVALID_FIELD, "amount", "must not be null");
+
+        when(dealService.createBatch(anyList(), eq(BatchResponseMode.FAILURES)))
+            .thenReturn(new BatchProcessingResult(1, 1, 0, null, null, List.of()))
+            .thenReturn(new BatchProcessingResult(1, 0, 1, null, null, List.of(error)));
+
+        webTestClient.post().uri("/api/deals/batch?mode=FAILURES")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(dealRequest, second))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.totalRequests").isEqualTo(2)
+            .jsonPath("$.successfulDeals").isEqualTo(1)
+            .jsonPath("$.failedDeals").isEqualTo(1)
+            .jsonPath("$.errors[0].id").isEqualTo("FX002")
+            .jsonPath("$.errors[0].code").isEqualTo("INVALID_FIELD");
+
+        verify(dealService, times(2)).createBatch(anyList(), eq(BatchResponseMode.FAILURES));
+    }
+
+    @Test
+    void importStream_ReadsBodyAndWritesOneNdjsonLinePerDeal() throws Exception {
+        doAnswer(invocation -> {
+            InputStream input = invocation.getArgument(0);
+            assertTrue(new String(input.readAllBytes(), StandardCharsets.UTF_8).contains("\"FX001\""));
+            Consumer<DealOutcome> consumer = invocation.getArgument(1);
+            consumer.accept(DealOutcome.success(dealResponse));
+            consumer.accept(DealOutcome.failure("FX002", DealErrorCode.ALREADY_IMPORTED, "Request is already imported."));
+            return null;
+        }).when(dealImportService).importStream(any(), any());
+
+        webTestClient.post().uri("/api/deals/batch/stream")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue("{\"id\":\"FX001\"}\n")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class).isEqualTo(
+                "{\"id\":\"FX001\",\"deal\":{\"id\":\"FX001\",\"fromCurrency\":null,\"toCurrency\":null,\"timestamp\":null,\"amount\":1000000},\"success\":true}\n"
+                    + "{\"id\":\"FX002\",\"code\":\"ALREADY_IMPORTED\",\"error\":\"Request is already imported.\",\"success\":false}\n");
+    }
+
+    @Test
+    void getDeal_Unknown_NotFound() {
+        when(dealService.getDeal("FX404")).thenThrow(new DealNotFoundException("Deal not found: FX404"));
+
+        webTestClient.get().uri("/api/deals/FX404")
+            .exchange()
+            .expectStatus().isNotFound()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("Deal not found: FX404");
+    }
+}
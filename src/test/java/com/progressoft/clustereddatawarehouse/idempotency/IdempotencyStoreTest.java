@@ -0,0 +1,148 @@
+package com.progressoft.clustereddatawarehouse.idempotency;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.progressoft.clustereddatawarehouse.config.IdempotencyProperties;
+import com.progressoft.clustereddatawarehouse.exception.IdempotencyKeyMismatchException;
+import com.progressoft.clustereddatawarehouse.exception.InvalidIdempotencyKeyException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyProperties properties;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new IdempotencyProperties();
+        store = new IdempotencyStore(properties, new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    @Test
+    void execute_SameKeyAndPayload_ReturnsFirstResponse() {
+        AtomicInteger runs = new AtomicInteger();
+
+        String first = store.execute("batch", "K1", List.of("D1"), 1, () -> "response-" + runs.incrementAndGet());
+        String retry = store.execute("batch", "K1", List.of("D1"), 1, () -> "response-" + runs.incrementAndGet());
+
+        assertEquals("response-1", first);
+        assertEquals("response-1", retry);
+        assertEquals(1, runs.get());
+        assertEquals(1.0, meterRegistry.get("deals.idempotency.replays").counter().count());
+    }
+
+    @Test
+    void execute_SameKeyOnOtherEndpoint_RunsAgain() {
+        store.execute("batch", "K1", List.of("D1"), 1, () -> "batch");
+
+        assertEquals("create", store.execute("create", "K1", List.of("D1"), 1, () -> "create"));
+    }
+
+    @Test
+    void execute_SameKeyDifferentPayload_Rejected() {
+        store.execute("batch", "K1", List.of("D1"), 1, () -> "first");
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+            () -> store.execute("batch", "K1", List.of("D2"), 1, () -> "second"));
+    }
+
+    @Test
+    void execute_SameAmountAtOtherScale_ReturnsFirstResponse() {
+        store.execute("create", "K1", deal(new BigDecimal("10")), 1, () -> "first");
+
+        assertEquals("first", store.execute("create", "K1", deal(new BigDecimal("10.00")), 1, () -> "second"));
+        assertThrows(IdempotencyKeyMismatchException.class,
+            () -> store.execute("create", "K1", deal(new BigDecimal("10.01")), 1, () -> "third"));
+    }
+
+    @Test
+    void execute_FailedRequest_IsNotStored() {
+        assertThrows(IllegalStateException.class, () -> store.execute("batch", "K1", List.of("D1"), 1, () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertEquals("retried", store.execute("batch", "K1", List.of("D1"), 1, () -> "retried"));
+    }
+
+    @Test
+    void execute_ConcurrentDuplicate_WaitsForFirstExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+            store.execute("batch", "K1", List.of("D1"), 1, () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "first";
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+            store.execute("batch", "K1", List.of("D1"), 1, () -> "duplicate-" + runs.incrementAndGet()));
+        release.countDown();
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("first", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_InvalidKey_Rejected() {
+        properties.setMaxKeyLength(4);
+
+        assertThrows(InvalidIdempotencyKeyException.class,
+            () -> store.execute("batch", "TOO-LONG", List.of("D1"), 1, () -> "response"));
+        assertThrows(InvalidIdempotencyKeyException.class,
+            () -> store.execute("batch", " ", List.of("D1"), 1, () -> "response"));
+    }
+
+    @Test
+    void execute_WithoutKeyOrDisabled_AlwaysRuns() {
+        AtomicInteger runs = new AtomicInteger();
+
+        store.execute("batch", null, List.of("D1"), 1, runs::incrementAndGet);
+        store.execute("batch", null, List.of("D1"), 1, runs::incrementAndGet);
+        properties.setEnabled(false);
+        store.execute("batch", "K1", List.of("D1"), 1, runs::incrementAndGet);
+        store.execute("batch", "K1", List.of("D1"), 1, runs::incrementAndGet);
+
+        assertEquals(4, runs.get());
+    }
+
+    private static DealDtoReq deal(BigDecimal amount) {
+        DealDtoReq deal = new DealDtoReq();
+        deal.setId("D1");
+        deal.setFromCurrency("USD");
+        deal.setToCurrency("EUR");
+        deal.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30));
+        deal.setAmount(amount);
+        return deal;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
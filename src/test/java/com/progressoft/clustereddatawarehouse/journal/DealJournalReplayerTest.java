@@ -0,0 +1,103 @@
+package com.progressoft.clustereddatawarehouse.journal;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.progressoft.clustereddatawarehouse.config.JournalProperties;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.service.impl.BulkDealIngestor;
+
+@ExtendWith(MockitoExtension.class)
+class DealJournalReplayerTest {
+
+    @Mock
+    private DealJournal dealJournal;
+
+    @Mock
+    private BulkDealIngestor bulkDealIngestor;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    private DealJournalReplayer replayer;
+
+    private final DealDtoReq first = request("J1");
+    private final DealDtoReq second = request("J2");
+    private final JournalBatch batch = new JournalBatch(List.of(first, second), new JournalPosition(0, 70));
+    private final JournalBatch empty = new JournalBatch(List.of(), new JournalPosition(0, 70));
+
+    @BeforeEach
+    void setup() {
+        replayer = new DealJournalReplayer(dealJournal, bulkDealIngestor, new JournalProperties(), cacheManager);
+        when(dealJournal.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void replay_CommitsBatchAndAdvancesCheckpoint() {
+        when(dealJournal.read(1000)).thenReturn(batch, empty);
+        when(bulkDealIngestor.ingest(batch.deals()))
+            .thenReturn(List.of(DealOutcome.success(response("J1")), DealOutcome.success(response("J2"))));
+        when(cacheManager.getCache("deals")).thenReturn(cache);
+
+        replayer.replay();
+
+        verify(dealJournal).checkpoint(batch);
+        verify(cache).put("J1", response("J1"));
+        verify(cache).put("J2", response("J2"));
+    }
+
+    @Test
+    void replay_DuplicateDeal_CheckpointsWithoutCachingThePayload() {
+        when(dealJournal.read(1000)).thenReturn(batch, empty);
+        when(bulkDealIngestor.ingest(batch.deals())).thenReturn(List.of(
+            DealOutcome.success(response("J1")), DealOutcome.failure("J2", DealErrorCode.ALREADY_IMPORTED, "Request is already imported.")));
+        when(cacheManager.getCache("deals")).thenReturn(cache);
+
+        replayer.replay();
+
+        verify(dealJournal).checkpoint(batch);
+        verify(cache).put("J1", response("J1"));
+        verify(cache, never()).put(eq("J2"), any());
+    }
+
+    @Test
+    void replay_DatabaseDown_KeepsCheckpoint() {
+        when(dealJournal.read(1000)).thenReturn(batch);
+        when(bulkDealIngestor.ingest(batch.deals())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        replayer.replay();
+
+        verify(dealJournal, never()).checkpoint(any());
+    }
+
+    private static DealDtoReq request(String id) {
+        DealDtoReq request = new DealDtoReq();
+        request.setId(id);
+        return request;
+    }
+
+    private static DealDtoRes response(String id) {
+        DealDtoRes response = new DealDtoRes();
+        response.setId(id);
+        return response;
+    }
+}
@@ -0,0 +1,149 @@
+package com.progressoft.clustereddatawarehouse.journal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.progressoft.clustereddatawarehouse.config.JournalProperties;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DealJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void append_ThenRead_ReturnsDealsInOrder() throws IOException {
+        DealJournal journal = open(DataSize.ofKilobytes(64));
+        journal.append(deal("J1"));
+        journal.append(deal("J2"));
+
+        JournalBatch batch = journal.read(10);
+
+        assertEquals(List.of("J1", "J2"), ids(batch));
+        assertEquals(deal("J1"), batch.deals().get(0));
+        assertEquals(2.0, meterRegistry.get("deals.journal.pending").gauge().value());
+    }
+
+    @Test
+    void reopen_AfterCheckpoint_ReplaysOnlyUncommittedDeals() throws IOException {
+        DealJournal journal = open(DataSize.ofKilobytes(64));
+        journal.append(deal("J1"));
+        journal.append(deal("J2"));
+        journal.checkpoint(journal.read(1));
+
+        DealJournal recovered = open(DataSize.ofKilobytes(64));
+        recovered.append(deal("J3"));
+
+        assertEquals(List.of("J2", "J3"), ids(recovered.read(10)));
+    }
+
+    @Test
+    void checkpoint_PastSegment_DeletesReplayedSegments() throws IOException {
+        DealJournal journal = open(DataSize.ofBytes(128));
+        for (int i = 0; i < 10; i++) {
+            journal.append(deal("J" + i));
+        }
+        assertTrue(segmentCount() > 1);
+
+        JournalBatch batch = journal.read(100);
+        journal.checkpoint(batch);
+
+        assertEquals(10, batch.deals().size());
+        assertEquals(1, segmentCount());
+        assertTrue(journal.read(100).deals().isEmpty());
+        assertTrue(open(DataSize.ofBytes(128)).read(100).deals().isEmpty());
+    }
+
+    @Test
+    void reopen_AfterTornWrite_DiscardsIncompleteRecord() throws IOException {
+        DealJournal journal = open(DataSize.ofKilobytes(64));
+        journal.append(deal("J1"));
+        journal.append(deal("J2"));
+        int secondRecordPayload = journal.read(10).end().offset() - 8;
+        try (var channel = Files.newByteChannel(segment(), StandardOpenOption.WRITE)) {
+            channel.position(secondRecordPayload);
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F, 0x7F}));
+        }
+
+        DealJournal recovered = open(DataSize.ofKilobytes(64));
+        recovered.append(deal("J3"));
+
+        assertEquals(List.of("J1", "J3"), ids(recovered.read(10)));
+    }
+
+    @Test
+    void reopen_AfterTornWriteInEarlierSegment_ReplaysLaterSegments() throws IOException {
+        DealJournal journal = open(DataSize.ofBytes(128));
+        for (int i = 0; i < 6; i++) {
+            journal.append(deal("J" + i));
+        }
+        int inFirstSegment = 0;
+        while (journal.read(inFirstSegment + 1).end().segment() == 0) {
+            inFirstSegment++;
+        }
+        int lastRecordPayload = journal.read(inFirstSegment - 1).end().offset() + 8;
+        try (var channel = Files.newByteChannel(segment(), StandardOpenOption.WRITE)) {
+            channel.position(lastRecordPayload);
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F, 0x7F}));
+        }
+
+        DealJournal recovered = open(DataSize.ofBytes(128));
+        List<String> replayed = ids(recovered.read(100));
+
+        assertEquals(5, replayed.size());
+        assertFalse(replayed.contains("J" + (inFirstSegment - 1)));
+        assertEquals("J5", replayed.get(replayed.size() - 1));
+    }
+
+    private DealJournal open(DataSize segmentSize) throws IOException {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setSegmentSize(segmentSize);
+        return new DealJournal(properties, meterRegistry);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".wal")).count();
+        }
+    }
+
+    private Path segment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".wal")).sorted().findFirst().orElseThrow();
+        }
+    }
+
+    private static List<String> ids(JournalBatch batch) {
+        return batch.deals().stream().map(DealDtoReq::getId).toList();
+    }
+
+    private static DealDtoReq deal(String id) {
+        DealDtoReq deal = new DealDtoReq();
+        deal.setId(id);
+        deal.setFromCurrency("USD");
+        deal.setToCurrency("EUR");
+        deal.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30));
+        deal.setAmount(new BigDecimal("1000.50"));
+        return deal;
+    }
+}
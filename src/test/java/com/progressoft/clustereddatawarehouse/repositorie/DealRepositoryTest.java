@@ -0,0 +1,193 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:deals;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=TIMESTAMP",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DealRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @BeforeEach
+    void setup() {
+        dealRepository.insertAllIgnoringDuplicates(List.of(
+            deal("C", BASE),
+            deal("A", BASE.plusMinutes(1)),
+            deal("B", BASE.plusMinutes(1))
+        ));
+    }
+
+    @Test
+    void findExistingIds_ReturnsOnlyPersistedIds() {
+        assertEquals(Set.of("A", "C"), dealRepository.findExistingIds(List.of("A", "C", "Z")));
+    }
+
+    @Test
+    void insertAllIgnoringDuplicates_SkipsExistingRows() {
+        boolean[] inserted = dealRepository.insertAllIgnoringDuplicates(List.of(deal("A", BASE), deal("D", BASE)));
+
+        assertArrayEquals(new boolean[] {false, true}, inserted);
+        assertEquals(4, dealRepository.count());
+    }
+
+    @Test
+    void insertAllIgnoringDuplicates_RejectsKnownIdWithDifferentTimestamp() {
+        boolean[] inserted = dealRepository.insertAllIgnoringDuplicates(List.of(deal("A", BASE.plusDays(40))));
+
+        assertArrayEquals(new boolean[] {false}, inserted);
+        assertEquals(3, dealRepository.count());
+    }
+
+    @Test
+    void insertAllIgnoringDuplicates_PreparesTwoStatementsWhateverTheRowCount() {
+        List<Deal> one = List.of(deal("X0", BASE));
+        List<Deal> many = IntStream.range(1, 51).mapToObj(i -> deal("X" + i, BASE)).toList();
+
+        StatementCounter.prepared.set(0);
+        dealRepository.insertAllIgnoringDuplicates(one);
+        int forOne = StatementCounter.prepared.getAndSet(0);
+        dealRepository.insertAllIgnoringDuplicates(many);
+        int forMany = StatementCounter.prepared.get();
+
+        assertEquals(2, forOne);
+        assertEquals(2, forMany);
+        assertEquals(54, dealRepository.count());
+    }
+
+    @Test
+    void insertAllIgnoringDuplicates_AllKnown_SkipsTheDealInsert() {
+        StatementCounter.prepared.set(0);
+
+        dealRepository.insertAllIgnoringDuplicates(List.of(deal("A", BASE), deal("B", BASE)));
+
+        assertEquals(1, StatementCounter.prepared.get());
+    }
+
+    @Test
+    void findById_ReadsCurrenciesThroughConverter() {
+        Deal deal = dealRepository.findById("A").orElseThrow();
+
+        assertEquals(Currency.getInstance("USD"), deal.getFromCurrency());
+    }
+
+    @Test
+    void findAll_FiltersByTimestampRangeAndCurrencyPair() {
+        dealRepository.insertAllIgnoringDuplicates(List.of(
+            new Deal("GBP", Currency.getInstance("GBP"), Currency.getInstance("USD"), BASE, BigDecimal.ONE)));
+
+        List<Deal> deals = dealRepository.findAll(
+            DealSpecifications.timestampFrom(BASE)
+                .and(DealSpecifications.timestampBefore(BASE.plusMinutes(1)))
+                .and(DealSpecifications.currencyPair(Currency.getInstance("USD"), Currency.getInstance("EUR"))),
+            Sort.by("timestamp", "id"));
+
+        assertEquals(List.of("C"), ids(deals));
+    }
+
+    @Test
+    void keysetPages_SeekPastLastSeenKey() {
+        assertEquals(List.of("B", "C"), ids(dealRepository.findByIdGreaterThanOrderByIdAsc("A", Limit.of(2))));
+        assertEquals(List.of("C", "A"), ids(dealRepository.findAllByOrderByTimestampAscIdAsc(Limit.of(2))));
+        assertEquals(List.of("B"), ids(dealRepository.findPageAfter(BASE.plusMinutes(1), "A", Limit.of(2))));
+    }
+
+    @Test
+    void streamAllOrderedById_ReadsEveryDeal() {
+        try (Stream<Deal> deals = dealRepository.streamAllOrderedById()) {
+            assertEquals(List.of("A", "B", "C"), deals.map(Deal::getId).toList());
+        }
+    }
+
+    @Test
+    void streamByTimestampRange_ReadsHalfOpenRangeInTimestampOrder() {
+        try (Stream<Deal> deals = dealRepository.streamByTimestampRange(BASE.plusMinutes(1), BASE.plusMinutes(2))) {
+            assertEquals(List.of("A", "B"), deals.map(Deal::getId).toList());
+        }
+    }
+
+    /**
+     * Counts the statements prepared on the data source, which is where the JDBC batches of
+     * {@code insertAllIgnoringDuplicates} show up; Hibernate statistics do not see them.
+     */
+    @TestConfiguration
+    static class StatementCounter {
+
+        static final AtomicInteger prepared = new AtomicInteger();
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return counting(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        prepared.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+        }
+    }
+
+    private static List<String> ids(List<Deal> deals) {
+        return deals.stream().map(Deal::getId).toList();
+    }
+
+    private static Deal deal(String id, LocalDateTime timestamp) {
+        return new Deal(id, Currency.getInstance("USD"), Currency.getInstance("EUR"), timestamp, BigDecimal.TEN);
+    }
+}
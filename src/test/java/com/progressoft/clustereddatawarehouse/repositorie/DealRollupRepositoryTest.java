@@ -0,0 +1,47 @@
+package com.progressoft.clustereddatawarehouse.repositorie;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollupId;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:rollups;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=TIMESTAMP",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DealRollupRepositoryTest {
+
+    private static final DealRollupId BUCKET = new DealRollupId(
+        Currency.getInstance("EUR"), Currency.getInstance("USD"), LocalDateTime.of(2024, 1, 15, 10, 0));
+
+    @Autowired
+    private DealRollupRepository rollupRepository;
+
+    @Test
+    void mergeAll_AddsDeltasToExistingBucket() {
+        rollupRepository.mergeAll(List.of(rollup(3, "30.00", "5.00", "20.00")));
+        rollupRepository.mergeAll(List.of(rollup(1, "2.50", "2.50", "2.50")));
+
+        DealRollup stored = rollupRepository.findById(BUCKET).orElseThrow();
+
+        assertEquals(4, stored.getDealCount());
+        assertEquals(new BigDecimal("32.50"), stored.getAmountSum());
+        assertEquals(new BigDecimal("2.50"), stored.getAmountMin());
+        assertEquals(new BigDecimal("20.00"), stored.getAmountMax());
+    }
+
+    private static DealRollup rollup(long count, String sum, String min, String max) {
+        return new DealRollup(BUCKET, count, new BigDecimal(sum), new BigDecimal(min), new BigDecimal(max));
+    }
+}
@@ -0,0 +1,106 @@
+package com.progressoft.clustereddatawarehouse.rollup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollupId;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRollupRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DealRollupBufferTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2024, 1, 15, 10, 0);
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private DealRollupRepository rollupRepository;
+
+    @Captor
+    private ArgumentCaptor<List<DealRollup>> rollups;
+
+    private DealRollupBuffer buffer;
+
+    @BeforeEach
+    void setup() {
+        buffer = new DealRollupBuffer(rollupRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_MergesOneDeltaPerPairAndHour() {
+        buffer.record(deal(EUR, USD, HOUR.plusMinutes(5), "10"));
+        buffer.record(deal(EUR, USD, HOUR.plusMinutes(55), "30"));
+        buffer.record(deal(EUR, USD, HOUR.plusHours(1), "7"));
+
+        buffer.flush();
+
+        verify(rollupRepository).mergeAll(rollups.capture());
+        DealRollup first = rollups.getValue().stream()
+            .filter(rollup -> rollup.getId().getBucketStart().equals(HOUR))
+            .findFirst().orElseThrow();
+        assertEquals(2, rollups.getValue().size());
+        assertEquals(new DealRollup(new DealRollupId(EUR, USD, HOUR), 2, new BigDecimal("40"),
+            new BigDecimal("10"), new BigDecimal("30")), first);
+    }
+
+    @Test
+    void flush_FailedMerge_KeepsDeltasForNextFlush() {
+        buffer.record(deal(EUR, USD, HOUR, "10"));
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(rollupRepository).mergeAll(rollups.capture());
+
+        buffer.flush();
+        buffer.record(deal(EUR, USD, HOUR, "5"));
+        buffer.flush();
+
+        verify(rollupRepository, times(2)).mergeAll(rollups.capture());
+        DealRollup retried = rollups.getAllValues().get(rollups.getAllValues().size() - 1).get(0);
+        assertEquals(2, retried.getDealCount());
+        assertEquals(new BigDecimal("15"), retried.getAmountSum());
+        assertEquals(new BigDecimal("5"), retried.getAmountMin());
+    }
+
+    @Test
+    void pending_CopiesDeltasWithoutFlushing() {
+        buffer.record(deal(EUR, USD, HOUR, "10"));
+        buffer.record(deal(EUR, USD, HOUR.plusMinutes(30), "4"));
+
+        List<DealRollup> pending = buffer.pending();
+        buffer.record(deal(EUR, USD, HOUR, "1"));
+
+        assertEquals(List.of(new DealRollup(new DealRollupId(EUR, USD, HOUR), 2, new BigDecimal("14"),
+            new BigDecimal("4"), new BigDecimal("10"))), pending);
+        assertEquals(3, buffer.pending().get(0).getDealCount());
+        verify(rollupRepository, never()).mergeAll(rollups.capture());
+    }
+
+    @Test
+    void flush_NothingRecorded_SkipsDatabase() {
+        buffer.flush();
+
+        verify(rollupRepository, never()).mergeAll(rollups.capture());
+    }
+
+    private static Deal deal(Currency from, Currency to, LocalDateTime timestamp, String amount) {
+        return new Deal("D-" + timestamp, from, to, timestamp, new BigDecimal(amount));
+    }
+}
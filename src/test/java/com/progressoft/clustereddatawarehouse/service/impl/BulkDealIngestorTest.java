@@ -0,0 +1,147 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.progressoft.clustereddatawarehouse.config.ShardingProperties;
+import com.progressoft.clustereddatawarehouse.dedup.DealIdFilter;
+import com.progressoft.clustereddatawarehouse.mapper.DealMapper;
+import com.progressoft.clustereddatawarehouse.metrics.DealMetrics;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+import com.progressoft.clustereddatawarehouse.rollup.DealRollupBuffer;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class BulkDealIngestorTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private DealMapper dealMapper;
+
+    @Mock
+    private DealIdFilter dealIdFilter;
+
+    @Mock
+    private DealMetrics dealMetrics;
+
+    @Mock
+    private DealRollupBuffer dealRollupBuffer;
+
+    private BulkDealIngestor ingestor;
+
+    @BeforeEach
+    void setup() {
+        DealBatchValidator validator = new DealBatchValidator(Validation.buildDefaultValidatorFactory().getValidator(),
+            dealMetrics);
+        ingestor = new BulkDealIngestor(dealRepository, dealMapper, dealIdFilter, validator, dealMetrics,
+            dealRollupBuffer, new DealShardRouter(new ShardingProperties()));
+    }
+
+    @Test
+    void ingest_ReportsOutcomePerDealInInputOrder() {
+        DealDtoReq fresh = request("D1", "USD");
+        DealDtoReq existing = request("D2", "USD");
+        DealDtoReq invalid = request("D3", "XXQ");
+        DealDtoReq repeated = request("D1", "USD");
+        DealDtoReq raced = request("D4", "USD");
+
+        when(dealIdFilter.mightContain(anyString())).thenReturn(true);
+        when(dealRepository.findExistingIds(anyCollection())).thenReturn(Set.of("D2"));
+        when(dealMapper.toEntity(any(DealDtoReq.class))).thenAnswer(inv -> entity(inv.getArgument(0)));
+        when(dealRepository.insertAllIgnoringDuplicates(anyList())).thenReturn(new boolean[] {true, false});
+        when(dealMapper.toResponseDto(any(Deal.class))).thenAnswer(inv -> {
+            DealDtoRes res = new DealDtoRes();
+            res.setId(((Deal) inv.getArgument(0)).getId());
+            return res;
+        });
+
+        List<DealOutcome> outcomes = ingestor.ingest(List.of(fresh, existing, invalid, repeated, raced));
+
+        assertEquals(5, outcomes.size());
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals("D1", outcomes.get(0).getDeal().getId());
+        assertEquals("Request is already imported.", outcomes.get(1).getError());
+        assertEquals(DealErrorCode.ALREADY_IMPORTED, outcomes.get(1).getCode());
+        assertEquals("Invalid currency code provided", outcomes.get(2).getError());
+        assertEquals(DealErrorCode.INVALID_CURRENCY, outcomes.get(2).getCode());
+        assertEquals("fromCurrency", outcomes.get(2).getField());
+        assertEquals("Request is already imported.", outcomes.get(3).getError());
+        assertEquals(DealErrorCode.DUPLICATE_IN_BATCH, outcomes.get(3).getCode());
+        assertFalse(outcomes.get(4).isSuccess());
+        assertEquals("D4", outcomes.get(4).getId());
+        verify(dealIdFilter).put("D1");
+        verify(dealIdFilter, times(2)).recordFalsePositive();
+        verify(dealMetrics).success();
+        verify(dealRollupBuffer).record(any(Deal.class));
+        verify(dealMetrics, times(3)).duplicate();
+        verify(dealMetrics).invalidCurrency();
+    }
+
+    @Test
+    void ingest_FilterRulesOutEveryId_SkipsDuplicateLookup() {
+        when(dealIdFilter.mightContain(anyString())).thenReturn(false);
+        when(dealMapper.toEntity(any(DealDtoReq.class))).thenAnswer(inv -> entity(inv.getArgument(0)));
+        when(dealRepository.insertAllIgnoringDuplicates(anyList())).thenReturn(new boolean[] {true});
+        when(dealMapper.toResponseDto(any(Deal.class))).thenReturn(new DealDtoRes());
+
+        ingestor.ingest(List.of(request("D1", "USD")));
+
+        verify(dealRepository, never()).findExistingIds(anyCollection());
+    }
+
+    @Test
+    void ingest_AllInvalid_SkipsDatabase() {
+        DealDtoReq missingAmount = request("D1", "USD");
+        missingAmount.setAmount(null);
+
+        List<DealOutcome> outcomes = ingestor.ingest(List.of(missingAmount));
+
+        assertEquals("amount: must not be null", outcomes.get(0).getError());
+        verify(dealRepository, never()).findExistingIds(anyCollection());
+        verify(dealRepository, never()).insertAllIgnoringDuplicates(anyList());
+    }
+
+    private DealDtoReq request(String id, String fromCurrency) {
+        DealDtoReq request = new DealDtoReq();
+        request.setId(id);
+        request.setFromCurrency(fromCurrency);
+        request.setToCurrency("EUR");
+        request.setTimestamp(LocalDateTime.now());
+        request.setAmount(BigDecimal.TEN);
+        return request;
+    }
+
+    private Deal entity(DealDtoReq request) {
+        return new Deal(request.getId(), Currency.getInstance(request.getFromCurrency()),
+            Currency.getInstance(request.getToCurrency()), request.getTimestamp(), request.getAmount());
+    }
+}
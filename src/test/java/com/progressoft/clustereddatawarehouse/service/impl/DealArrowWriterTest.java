@@ -0,0 +1,64 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+
+class DealArrowWriterTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000);
+
+    @Test
+    void write_ProducesStreamWithDictionaryEncodedCurrencies() throws Exception {
+        int count = DealArrowWriter.BATCH_ROWS + 3;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (DealArrowWriter writer = new DealArrowWriter(output)) {
+            for (int index = 0; index < count; index++) {
+                writer.write(new Deal("D" + index, Currency.getInstance("EUR"), Currency.getInstance("USD"),
+                    TIMESTAMP, new BigDecimal("1000.5")));
+            }
+        }
+
+        List<String> ids = new ArrayList<>();
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(output.toByteArray()), allocator,
+                 CommonsCompressionFactory.INSTANCE)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            int batches = 0;
+            while (reader.loadNextBatch()) {
+                batches++;
+                VarCharVector batchIds = (VarCharVector) root.getVector("id");
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    ids.add(new String(batchIds.get(row), StandardCharsets.UTF_8));
+                }
+                try (VarCharVector from = (VarCharVector) DictionaryEncoder.decode(root.getVector("from_currency"),
+                         reader.getDictionaryVectors().get(0L))) {
+                    assertEquals("EUR", new String(from.get(0), StandardCharsets.US_ASCII));
+                }
+                assertEquals(TIMESTAMP, ((TimeStampMicroVector) root.getVector("timestamp")).getObject(0));
+                assertEquals(new BigDecimal("1000.50"), ((DecimalVector) root.getVector("amount")).getObject(0));
+            }
+            assertEquals(2, batches);
+        }
+        assertEquals(count, ids.size());
+        assertEquals("D" + (count - 1), ids.get(count - 1));
+    }
+}
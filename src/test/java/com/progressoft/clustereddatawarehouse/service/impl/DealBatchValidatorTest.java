@@ -0,0 +1,113 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.progressoft.clustereddatawarehouse.metrics.DealMetrics;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class DealBatchValidatorTest {
+
+    @Mock
+    private DealMetrics dealMetrics;
+
+    private DealBatchValidator validator;
+
+    @BeforeEach
+    void setup() {
+        validator = new DealBatchValidator(Validation.buildDefaultValidatorFactory().getValidator(), dealMetrics);
+    }
+
+    @Test
+    void validate_ReturnsCleanIndexesAndCodesFailures() {
+        DealDtoReq missingAmount = request("D2", "USD", "EUR");
+        missingAmount.setAmount(null);
+        List<DealDtoReq> chunk = List.of(
+            request("D1", "USD", "EUR"),
+            missingAmount,
+            request("D3", "USD", "XXQ"),
+            request("D1", "GBP", "EUR"),
+            request("D4", "JOD", "USD"));
+        DealOutcome[] outcomes = new DealOutcome[chunk.size()];
+
+        List<Integer> clean = validator.validate(chunk, outcomes);
+
+        assertEquals(List.of(0, 4), clean);
+        assertNull(outcomes[0]);
+        assertEquals(DealErrorCode.INVALID_FIELD, outcomes[1].getCode());
+        assertEquals("amount", outcomes[1].getField());
+        assertEquals("amount: must not be null", outcomes[1].getError());
+        assertEquals(DealErrorCode.INVALID_CURRENCY, outcomes[2].getCode());
+        assertEquals("toCurrency", outcomes[2].getField());
+        assertEquals(DealErrorCode.DUPLICATE_IN_BATCH, outcomes[3].getCode());
+        assertEquals("D1", outcomes[3].getId());
+        verify(dealMetrics).invalid();
+        verify(dealMetrics).invalidCurrency();
+        verify(dealMetrics).duplicate();
+    }
+
+    @Test
+    void validate_InvalidDealDoesNotClaimItsId() {
+        DealDtoReq invalid = request("D1", "USD", "XXQ");
+        List<DealDtoReq> chunk = List.of(invalid, request("D1", "USD", "EUR"));
+        DealOutcome[] outcomes = new DealOutcome[chunk.size()];
+
+        List<Integer> clean = validator.validate(chunk, outcomes);
+
+        assertEquals(List.of(1), clean);
+        assertEquals(DealErrorCode.INVALID_CURRENCY, outcomes[0].getCode());
+        verify(dealMetrics, never()).duplicate();
+    }
+
+    @Test
+    void validate_NullDeal_ReportsMalformedAtItsIndex() {
+        List<DealDtoReq> chunk = Arrays.asList(request("D1", "USD", "EUR"), null);
+        DealOutcome[] outcomes = new DealOutcome[chunk.size()];
+
+        List<Integer> clean = validator.validate(chunk, outcomes);
+
+        assertEquals(List.of(0), clean);
+        assertEquals(DealErrorCode.MALFORMED, outcomes[1].getCode());
+        assertNull(outcomes[1].getId());
+        verify(dealMetrics).invalid();
+    }
+
+    @Test
+    void validate_SeveralViolations_ReportsFirstPropertyByName() {
+        DealDtoReq invalid = request("D1", "USD", "EUR");
+        invalid.setTimestamp(null);
+        invalid.setAmount(null);
+        DealOutcome[] outcomes = new DealOutcome[1];
+
+        validator.validate(List.of(invalid), outcomes);
+
+        assertEquals("amount", outcomes[0].getField());
+    }
+
+    private DealDtoReq request(String id, String fromCurrency, String toCurrency) {
+        DealDtoReq request = new DealDtoReq();
+        request.setId(id);
+        request.setFromCurrency(fromCurrency);
+        request.setToCurrency(toCurrency);
+        request.setTimestamp(LocalDateTime.now());
+        request.setAmount(BigDecimal.TEN);
+        return request;
+    }
+}
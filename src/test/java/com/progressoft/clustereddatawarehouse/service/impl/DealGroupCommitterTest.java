@@ -0,0 +1,189 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.progressoft.clustereddatawarehouse.config.WriteBehindProperties;
+import com.progressoft.clustereddatawarehouse.exception.DuplicateDealIdException;
+import com.progressoft.clustereddatawarehouse.exception.IngestionQueueFullException;
+import com.progressoft.clustereddatawarehouse.exception.InvalidDealException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DealGroupCommitterTest {
+
+    @Mock
+    private BulkDealIngestor bulkDealIngestor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final WriteBehindProperties committerProperties = new WriteBehindProperties();
+
+    private DealGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        committer.destroy();
+    }
+
+    @Test
+    void persist_ConcurrentCallers_CommittedInGroups() throws Exception {
+        committer = committer(true, Duration.ofMillis(50));
+        List<Integer> groupSizes = new ArrayList<>();
+        when(bulkDealIngestor.ingest(anyList())).thenAnswer(inv -> {
+            List<DealOutcome> outcomes = new ArrayList<>();
+            for (Object request : inv.<List<?>>getArgument(0)) {
+                outcomes.add(DealOutcome.success(response(((DealDtoReq) request).getId())));
+            }
+            synchronized (groupSizes) {
+                groupSizes.add(outcomes.size());
+            }
+            return outcomes;
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(20);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<DealDtoRes>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String id = "G" + i;
+            results.add(CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return committer.persist(request(id));
+            }, callers));
+        }
+        start.countDown();
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("G" + i, results.get(i).get(5, TimeUnit.SECONDS).getId());
+        }
+        callers.shutdown();
+        assertEquals(20, groupSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(groupSizes.size() < 20);
+        assertEquals(groupSizes.size(), meterRegistry.get("deals.groupcommit.size").summary().count());
+    }
+
+    @Test
+    void persist_SameIdTwice_SecondIsDuplicate() {
+        committer = committer(true, Duration.ZERO);
+        Set<String> persisted = ConcurrentHashMap.newKeySet();
+        when(bulkDealIngestor.ingest(anyList())).thenAnswer(inv -> {
+            String id = inv.<List<DealDtoReq>>getArgument(0).get(0).getId();
+            return List.of(persisted.add(id)
+                ? DealOutcome.success(response(id))
+                : DealOutcome.failure(id, DealErrorCode.ALREADY_IMPORTED, "Request is already imported."));
+        });
+
+        assertEquals("D1", committer.persist(request("D1")).getId());
+        DuplicateDealIdException ex = assertThrows(DuplicateDealIdException.class,
+            () -> committer.persist(request("D1")));
+        assertEquals("Request is already imported.", ex.getMessage());
+    }
+
+    @Test
+    void persist_FailedOutcome_ThrowsTheExceptionOfTheDirectPath() {
+        committer = committer(true, Duration.ZERO);
+        when(bulkDealIngestor.ingest(anyList()))
+            .thenReturn(List.of(DealOutcome.failure("D1", DealErrorCode.INVALID_FIELD, "amount", "amount: must not be null")))
+            .thenReturn(List.of(DealOutcome.failure("D2", DealErrorCode.PERSISTENCE_FAILED, "The deal could not be stored. Please retry.")));
+
+        assertThrows(InvalidDealException.class, () -> committer.persist(request("D1")));
+        assertThrows(DataAccessResourceFailureException.class, () -> committer.persist(request("D2")));
+    }
+
+    @Test
+    void persist_GroupFails_PropagatesDatabaseError() {
+        committer = committer(true, Duration.ZERO);
+        when(bulkDealIngestor.ingest(anyList())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> committer.persist(request("D1")));
+    }
+
+    @Test
+    void persist_GroupThrowsError_FailsGroupAndKeepsCommitting() {
+        committer = committer(true, Duration.ZERO);
+        when(bulkDealIngestor.ingest(anyList()))
+            .thenThrow(new StackOverflowError())
+            .thenReturn(List.of(DealOutcome.success(response("D2"))));
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> committer.persist(request("D1")));
+
+        assertInstanceOf(StackOverflowError.class, ex.getCause());
+        assertEquals("D2", committer.persist(request("D2")).getId());
+    }
+
+    @Test
+    void persist_CommitTooSlow_RejectedAsOverloaded() {
+        committer = committer(true, Duration.ZERO);
+        committerProperties.setCommitTimeout(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        when(bulkDealIngestor.ingest(anyList())).thenAnswer(inv -> {
+            release.await();
+            return List.of(DealOutcome.success(response("D1")));
+        });
+
+        assertThrows(IngestionQueueFullException.class, () -> committer.persist(request("D1")));
+        release.countDown();
+    }
+
+    @Test
+    void disabled_DoesNotStartCommitter() {
+        committer = committer(false, Duration.ZERO);
+
+        assertFalse(committer.isEnabled());
+    }
+
+    private DealGroupCommitter committer(boolean enabled, Duration maxDelay) {
+        committerProperties.setEnabled(enabled);
+        committerProperties.setMaxGroupSize(8);
+        committerProperties.setMaxDelay(maxDelay);
+        return new DealGroupCommitter(bulkDealIngestor, committerProperties, meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static DealDtoReq request(String id) {
+        DealDtoReq request = new DealDtoReq();
+        request.setId(id);
+        return request;
+    }
+
+    private static DealDtoRes response(String id) {
+        DealDtoRes response = new DealDtoRes();
+        response.setId(id);
+        return response;
+    }
+}
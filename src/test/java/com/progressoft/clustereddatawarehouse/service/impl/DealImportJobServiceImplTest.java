@@ -0,0 +1,134 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.progressoft.clustereddatawarehouse.config.ImportJobProperties;
+import com.progressoft.clustereddatawarehouse.exception.ImportJobNotFoundException;
+import com.progressoft.clustereddatawarehouse.exception.ImportQueueFullException;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealError;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.model.dto.ImportJobState;
+import com.progressoft.clustereddatawarehouse.model.dto.ImportJobStatus;
+import com.progressoft.clustereddatawarehouse.service.inter.DealImportService;
+
+@ExtendWith(MockitoExtension.class)
+class DealImportJobServiceImplTest {
+
+    @Mock
+    private DealImportService dealImportService;
+
+    private DealImportJobServiceImpl jobService;
+
+    @AfterEach
+    void tearDown() {
+        jobService.destroy();
+    }
+
+    @Test
+    void submit_RunsJobInBackgroundAndReportsResult() throws Exception {
+        jobService = new DealImportJobServiceImpl(dealImportService, new ImportJobProperties());
+        doAnswer(invocation -> {
+            Consumer<DealOutcome> consumer = invocation.getArgument(1);
+            DealDtoRes deal = new DealDtoRes();
+            deal.setId("D1");
+            consumer.accept(DealOutcome.success(deal));
+            consumer.accept(DealOutcome.failure("D2", DealErrorCode.ALREADY_IMPORTED, "Request is already imported."));
+            return null;
+        }).when(dealImportService).importStream(any(), any());
+
+        ImportJobStatus submitted = jobService.submit(body());
+        ImportJobStatus finished = jobService.awaitStatus(submitted.getJobId(), Duration.ofSeconds(5)).get();
+
+        assertEquals(ImportJobState.COMPLETED, finished.getState());
+        assertEquals(2, finished.getProcessedDeals());
+        assertEquals(1, finished.getResult().getSuccessfulDeals());
+        assertEquals(List.of("Failed to process deal D2: Request is already imported."),
+            finished.getResult().getErrorMessages());
+    }
+
+    @Test
+    void submit_ManyFailures_KeepsFirstErrorsAndCountsTheRest() throws Exception {
+        ImportJobProperties properties = new ImportJobProperties();
+        properties.setMaxRetainedErrors(2);
+        jobService = new DealImportJobServiceImpl(dealImportService, properties);
+        doAnswer(invocation -> {
+            Consumer<DealOutcome> consumer = invocation.getArgument(1);
+            for (int i = 1; i <= 5; i++) {
+                consumer.accept(DealOutcome.failure("D" + i, DealErrorCode.ALREADY_IMPORTED, "Request is already imported."));
+            }
+            return null;
+        }).when(dealImportService).importStream(any(), any());
+
+        ImportJobStatus submitted = jobService.submit(body());
+        ImportJobStatus finished = jobService.awaitStatus(submitted.getJobId(), Duration.ofSeconds(5)).get();
+
+        assertEquals(5, finished.getFailedDeals());
+        assertEquals(3, finished.getOmittedErrors());
+        assertEquals(List.of("D1", "D2"), finished.getResult().getErrors().stream().map(DealError::getId).toList());
+    }
+
+    @Test
+    void evictExpiredJobs_RemovesFinishedJobsPastRetention() throws Exception {
+        ImportJobProperties properties = new ImportJobProperties();
+        properties.setRetention(Duration.ZERO);
+        jobService = new DealImportJobServiceImpl(dealImportService, properties);
+
+        ImportJobStatus submitted = jobService.submit(body());
+        jobService.awaitStatus(submitted.getJobId(), Duration.ofSeconds(5)).get();
+        Thread.sleep(5);
+        jobService.evictExpiredJobs();
+
+        assertThrows(ImportJobNotFoundException.class, () -> jobService.awaitStatus(submitted.getJobId(), Duration.ZERO));
+    }
+
+    @Test
+    void submit_QueueFull_RejectsJob() throws Exception {
+        ImportJobProperties properties = new ImportJobProperties();
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        jobService = new DealImportJobServiceImpl(dealImportService, properties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(dealImportService).importStream(any(), any());
+
+        jobService.submit(body());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobService.submit(body());
+
+        assertThrows(ImportQueueFullException.class, () -> jobService.submit(body()));
+        release.countDown();
+    }
+
+    @Test
+    void awaitStatus_UnknownJob_ThrowsException() {
+        jobService = new DealImportJobServiceImpl(dealImportService, new ImportJobProperties());
+
+        assertThrows(ImportJobNotFoundException.class, () -> jobService.awaitStatus("missing", Duration.ZERO));
+    }
+
+    private ByteArrayInputStream body() {
+        return new ByteArrayInputStream("[]".getBytes());
+    }
+}
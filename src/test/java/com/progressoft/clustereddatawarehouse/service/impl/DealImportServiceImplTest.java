@@ -0,0 +1,102 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.progressoft.clustereddatawarehouse.config.IngestionProperties;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+
+@ExtendWith(MockitoExtension.class)
+class DealImportServiceImplTest {
+
+    private static final String DEAL =
+        "{\"id\":\"%s\",\"fromCurrency\":\"USD\",\"toCurrency\":\"EUR\",\"timestamp\":\"2024-01-15T10:30:00\",\"amount\":10}";
+
+    @Mock
+    private BulkDealIngestor bulkDealIngestor;
+
+    private IngestionProperties ingestionProperties;
+
+    private DealImportServiceImpl importService;
+
+    @BeforeEach
+    void setup() {
+        ingestionProperties = new IngestionProperties();
+        ingestionProperties.setChunkSize(2);
+        importService = new DealImportServiceImpl(bulkDealIngestor, ingestionProperties,
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+        when(bulkDealIngestor.ingest(anyList())).thenAnswer(inv -> {
+            List<DealOutcome> outcomes = new ArrayList<>();
+            for (Object request : inv.<List<?>>getArgument(0)) {
+                DealDtoRes res = new DealDtoRes();
+                res.setId(((DealDtoReq) request).getId());
+                outcomes.add(DealOutcome.success(res));
+            }
+            return outcomes;
+        });
+    }
+
+    @Test
+    void importStream_JsonArray_IngestsInChunks() throws Exception {
+        String body = "[" + DEAL.formatted("D1") + "," + DEAL.formatted("D2") + "," + DEAL.formatted("D3") + "]";
+        List<DealOutcome> outcomes = new ArrayList<>();
+
+        importService.importStream(stream(body), outcomes::add);
+
+        assertEquals(List.of("D1", "D2", "D3"), outcomes.stream().map(DealOutcome::getId).toList());
+        verify(bulkDealIngestor, times(2)).ingest(anyList());
+    }
+
+    @Test
+    void importStream_Ndjson_KeepsMalformedDealsInOrder() throws Exception {
+        String body = DEAL.formatted("D1") + "\n"
+            + "{\"id\":\"D2\",\"timestamp\":\"not-a-date\"}\n"
+            + DEAL.formatted("D3") + "\n";
+        List<DealOutcome> outcomes = new ArrayList<>();
+
+        importService.importStream(stream(body), outcomes::add);
+
+        assertEquals(List.of("D1", "D2", "D3"), outcomes.stream().map(DealOutcome::getId).toList());
+        assertTrue(outcomes.get(0).isSuccess());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertTrue(outcomes.get(1).getError().startsWith("Malformed deal"));
+        assertTrue(outcomes.get(2).isSuccess());
+    }
+
+    @Test
+    void importStream_NullElement_ReportsItAsMalformed() throws Exception {
+        String body = "[" + DEAL.formatted("D1") + ",null," + DEAL.formatted("D3") + "]";
+        List<DealOutcome> outcomes = new ArrayList<>();
+
+        importService.importStream(stream(body), outcomes::add);
+
+        assertEquals(3, outcomes.size());
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals(DealErrorCode.MALFORMED, outcomes.get(1).getCode());
+        assertEquals("D3", outcomes.get(2).getId());
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,162 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.progressoft.clustereddatawarehouse.config.ShardingProperties;
+import com.progressoft.clustereddatawarehouse.dedup.DealIdFilter;
+import com.progressoft.clustereddatawarehouse.exception.DealNotFoundException;
+import com.progressoft.clustereddatawarehouse.journal.DealJournal;
+import com.progressoft.clustereddatawarehouse.mapper.DealMapper;
+import com.progressoft.clustereddatawarehouse.metrics.DealMetrics;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+import com.progressoft.clustereddatawarehouse.rollup.DealRollupBuffer;
+import com.progressoft.clustereddatawarehouse.service.inter.DealService;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+
+@SpringJUnitConfig(DealServiceCachingTest.CacheConfig.class)
+class DealServiceCachingTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(DealServiceImpl.class)
+    static class CacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(DealServiceImpl.DEAL_CACHE);
+        }
+
+        @Bean
+        DealShardRouter dealShardRouter() {
+            return new DealShardRouter(new ShardingProperties());
+        }
+    }
+
+    @MockBean
+    private DealRepository dealRepository;
+
+    @MockBean
+    private DealMapper dealMapper;
+
+    @MockBean
+    private DealIdFilter dealIdFilter;
+
+    @MockBean
+    private PartitionedBatchIngestor batchIngestor;
+
+    @MockBean
+    private DealMetrics dealMetrics;
+
+    @MockBean
+    private DealRollupBuffer dealRollupBuffer;
+
+    @MockBean
+    private DealGroupCommitter dealGroupCommitter;
+
+    @MockBean(name = "dealJournal")
+    private DealJournal dealJournal;
+
+    @Autowired
+    private DealService dealService;
+
+    @Test
+    void getDeal_SecondLookup_ServedFromCache() {
+        Deal deal = deal("C1");
+        DealDtoRes response = response("C1");
+        when(dealRepository.findById("C1")).thenReturn(Optional.of(deal));
+        when(dealMapper.toResponseDto(deal)).thenReturn(response);
+
+        assertEquals(response, dealService.getDeal("C1"));
+        assertEquals(response, dealService.getDeal("C1"));
+        verify(dealRepository, times(1)).findById("C1");
+    }
+
+    @Test
+    void getDeal_Missing_NotCached() {
+        when(dealRepository.findById("C2")).thenReturn(Optional.empty());
+
+        assertThrows(DealNotFoundException.class, () -> dealService.getDeal("C2"));
+        assertThrows(DealNotFoundException.class, () -> dealService.getDeal("C2"));
+        verify(dealRepository, times(2)).findById("C2");
+    }
+
+    @Test
+    void create_PopulatesCache() {
+        DealDtoReq request = new DealDtoReq();
+        request.setId("C3");
+        request.setFromCurrency("USD");
+        request.setToCurrency("EUR");
+        request.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 0));
+        request.setAmount(BigDecimal.TEN);
+        Deal deal = deal("C3");
+        DealDtoRes response = response("C3");
+        when(dealIdFilter.mightContain("C3")).thenReturn(false);
+        when(dealMapper.toEntity(request)).thenReturn(deal);
+        when(dealRepository.insertAllIgnoringDuplicates(List.of(deal))).thenReturn(new boolean[] {true});
+        when(dealMapper.toResponseDto(deal)).thenReturn(response);
+
+        dealService.create(request);
+
+        assertEquals(response, dealService.getDeal("C3"));
+        verify(dealRepository, never()).findById("C3");
+    }
+
+    @Test
+    void create_Journaled_LeavesCachedDealAlone() {
+        Deal stored = deal("C4");
+        DealDtoRes storedResponse = response("C4");
+        when(dealRepository.findById("C4")).thenReturn(Optional.of(stored));
+        when(dealMapper.toResponseDto(stored)).thenReturn(storedResponse);
+        dealService.getDeal("C4");
+
+        DealDtoReq retry = new DealDtoReq();
+        retry.setId("C4");
+        retry.setFromCurrency("GBP");
+        retry.setToCurrency("EUR");
+        retry.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 0));
+        retry.setAmount(BigDecimal.ONE);
+        Deal rejected = deal("C4");
+        when(dealJournal.isEnabled()).thenReturn(true);
+        when(dealMapper.toEntity(retry)).thenReturn(rejected);
+        when(dealMapper.toResponseDto(rejected)).thenReturn(response("C4-rejected"));
+
+        dealService.create(retry);
+
+        assertEquals(storedResponse, dealService.getDeal("C4"));
+        verify(dealRepository, times(1)).findById("C4");
+    }
+
+    private static Deal deal(String id) {
+        return new Deal(id, Currency.getInstance("USD"), Currency.getInstance("EUR"),
+            LocalDateTime.of(2024, 1, 15, 10, 0), BigDecimal.TEN);
+    }
+
+    private static DealDtoRes response(String id) {
+        DealDtoRes response = new DealDtoRes();
+        response.setId(id);
+        return response;
+    }
+}
@@ -3,26 +3,52 @@ package com.progressoft.clustereddatawarehouse.service.impl;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.progressoft.clustereddatawarehouse.config.ShardingProperties;
+import com.progressoft.clustereddatawarehouse.dedup.DealIdFilter;
+import com.progressoft.clustereddatawarehouse.exception.DealNotFoundException;
 import com.progressoft.clustereddatawarehouse.exception.DuplicateDealIdException;
 import com.progressoft.clustereddatawarehouse.exception.InvalidCurrencyCodeException;
+import com.progressoft.clustereddatawarehouse.exception.InvalidCursorException;
+import com.progressoft.clustereddatawarehouse.journal.DealJournal;
 import com.progressoft.clustereddatawarehouse.mapper.DealMapper;
+import com.progressoft.clustereddatawarehouse.metrics.DealMetrics;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchProcessingResult;
+import com.progressoft.clustereddatawarehouse.model.dto.BatchResponseMode;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
 import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealError;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPage;
+import com.progressoft.clustereddatawarehouse.model.dto.DealPageOrder;
 import com.progressoft.clustereddatawarehouse.model.entity.Deal;
 import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+import com.progressoft.clustereddatawarehouse.rollup.DealRollupBuffer;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
 
 @ExtendWith(MockitoExtension.class)
 class DealServiceImplTest {
@@ -33,6 +59,27 @@ class DealServiceImplTest {
     @Mock
     private DealMapper dealMapper;
 
+    @Mock
+    private DealIdFilter dealIdFilter;
+
+    @Mock
+    private PartitionedBatchIngestor partitionedBatchIngestor;
+
+    @Mock
+    private DealMetrics dealMetrics;
+
+    @Mock
+    private DealRollupBuffer dealRollupBuffer;
+
+    @Mock
+    private DealGroupCommitter dealGroupCommitter;
+
+    @Mock
+    private DealJournal dealJournal;
+
+    @Spy
+    private DealShardRouter dealShardRouter = new DealShardRouter(new ShardingProperties());
+
     @InjectMocks
     private DealServiceImpl dealService;
 
@@ -67,23 +114,75 @@ class DealServiceImplTest {
 
     @Test
     void createDeal_Success() {
-        when(dealRepository.existsById("D123")).thenReturn(false);
+        when(dealIdFilter.mightContain("D123")).thenReturn(true);
+        when(dealRepository.findExistingIds(List.of("D123"))).thenReturn(Set.of());
         when(dealMapper.toEntity(validRequest)).thenReturn(dealEntity);
-        when(dealRepository.save(any(Deal.class))).thenReturn(dealEntity);
+        when(dealRepository.insertAllIgnoringDuplicates(List.of(dealEntity))).thenReturn(new boolean[] {true});
         when(dealMapper.toResponseDto(dealEntity)).thenReturn(expectedResponse);
 
         DealDtoRes actual = dealService.create(validRequest);
 
         assertEquals(expectedResponse, actual);
+        verify(dealMetrics).success();
+        verify(dealRollupBuffer).record(dealEntity);
+    }
+
+    @Test
+    void getDeal_Found_MapsEntity() {
+        when(dealRepository.findById("D123")).thenReturn(Optional.of(dealEntity));
+        when(dealMapper.toResponseDto(dealEntity)).thenReturn(expectedResponse);
+
+        assertEquals(expectedResponse, dealService.getDeal("D123"));
+    }
+
+    @Test
+    void getDeal_Missing_ThrowsNotFound() {
+        when(dealRepository.findById("D404")).thenReturn(Optional.empty());
+
+        DealNotFoundException ex = assertThrows(DealNotFoundException.class, () -> dealService.getDeal("D404"));
+        assertEquals("Deal not found: D404", ex.getMessage());
+    }
+
+    @Test
+    void createDeal_WriteBehind_DelegatesToGroupCommitter() {
+        when(dealGroupCommitter.isEnabled()).thenReturn(true);
+        when(dealGroupCommitter.persist(validRequest)).thenReturn(expectedResponse);
+
+        assertEquals(expectedResponse, dealService.create(validRequest));
+        verify(dealRepository, never()).insertAllIgnoringDuplicates(any());
+    }
+
+    @Test
+    void createDeal_Journal_AppendsWithoutTouchingDatabase() {
+        when(dealJournal.isEnabled()).thenReturn(true);
+        when(dealMapper.toEntity(validRequest)).thenReturn(dealEntity);
+        when(dealMapper.toResponseDto(dealEntity)).thenReturn(expectedResponse);
+
+        assertEquals(expectedResponse, dealService.create(validRequest));
+        verify(dealJournal).append(validRequest);
+        verify(dealRepository, never()).insertAllIgnoringDuplicates(any());
     }
 
     @Test
     void createDeal_DuplicateId_ThrowsException() {
-        when(dealRepository.existsById("D123")).thenReturn(true);
+        when(dealIdFilter.mightContain("D123")).thenReturn(true);
+        when(dealRepository.findExistingIds(List.of("D123"))).thenReturn(Set.of("D123"));
 
         DuplicateDealIdException ex = assertThrows(DuplicateDealIdException.class,
             () -> dealService.create(validRequest));
         assertEquals("Request is already imported.", ex.getMessage());
+        verify(dealMetrics).duplicate();
+    }
+
+    @Test
+    void createDeal_FilterNegative_SkipsLookupAndRejectsConflictingInsert() {
+        when(dealIdFilter.mightContain("D123")).thenReturn(false);
+        when(dealMapper.toEntity(validRequest)).thenReturn(dealEntity);
+        when(dealRepository.insertAllIgnoringDuplicates(List.of(dealEntity))).thenReturn(new boolean[] {false});
+
+        assertThrows(DuplicateDealIdException.class, () -> dealService.create(validRequest));
+        verify(dealRepository, never()).findExistingIds(any());
+        verify(dealIdFilter, never()).put(any());
     }
 
     @Test
@@ -94,4 +193,84 @@ class DealServiceImplTest {
             () -> dealService.create(validRequest));
         assertTrue(ex.getMessage().contains("Invalid currency code"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createBatch_CollectsOutcomesInInputOrder() {
+        DealDtoReq duplicateRequest = new DealDtoReq();
+        duplicateRequest.setId("D124");
+
+        when(partitionedBatchIngestor.ingest(List.of(validRequest, duplicateRequest))).thenReturn(List.of(
+            DealOutcome.success(expectedResponse),
+            DealOutcome.failure("D124", DealErrorCode.ALREADY_IMPORTED, "Request is already imported.")
+        ));
+
+        BatchProcessingResult result = dealService.createBatch(List.of(validRequest, duplicateRequest), BatchResponseMode.FULL);
+
+        assertEquals(2, result.getTotalRequests());
+        assertEquals(1, result.getSuccessfulDeals());
+        assertEquals(1, result.getFailedDeals());
+        assertEquals(List.of(expectedResponse), result.getSuccessfulResults());
+        assertEquals(List.of("Failed to process deal D124: Request is already imported."), result.getErrorMessages());
+        assertEquals(List.of(new DealError("D124", DealErrorCode.ALREADY_IMPORTED, null, "Request is already imported.")),
+            result.getErrors());
+    }
+
+    @Test
+    void createBatch_FailuresMode_SkipsSuccessesAndMessages() {
+        when(partitionedBatchIngestor.ingest(anyList())).thenReturn(List.of(
+            DealOutcome.success(expectedResponse),
+            DealOutcome.failure("D124", DealErrorCode.ALREADY_IMPORTED, "id", "Request is already imported.")
+        ));
+
+        BatchProcessingResult result = dealService.createBatch(List.of(validRequest, validRequest), BatchResponseMode.FAILURES);
+
+        assertEquals(1, result.getSuccessfulDeals());
+        assertEquals(1, result.getFailedDeals());
+        assertNull(result.getSuccessfulResults());
+        assertNull(result.getErrorMessages());
+        assertEquals(DealErrorCode.ALREADY_IMPORTED, result.getErrors().get(0).getCode());
+    }
+
+    @Test
+    void createBatch_SummaryMode_ReturnsCountsOnly() {
+        when(partitionedBatchIngestor.ingest(anyList())).thenReturn(List.of(
+            DealOutcome.success(expectedResponse),
+            DealOutcome.failure("D124", DealErrorCode.ALREADY_IMPORTED, "id", "Request is already imported.")
+        ));
+
+        BatchProcessingResult result = dealService.createBatch(List.of(validRequest, validRequest), BatchResponseMode.SUMMARY);
+
+        assertEquals(2, result.getTotalRequests());
+        assertEquals(1, result.getFailedDeals());
+        assertNull(result.getSuccessfulResults());
+        assertNull(result.getErrors());
+    }
+
+    @Test
+    void getDealsPage_ReturnsCursorThatSeeksPastLastDeal() {
+        when(dealRepository.findAllByOrderByTimestampAscIdAsc(Limit.of(1))).thenReturn(List.of(dealEntity));
+        when(dealMapper.toResponseDtoList(List.of(dealEntity))).thenReturn(List.of(expectedResponse));
+
+        DealPage firstPage = dealService.getDealsPage(null, 1, DealPageOrder.TIMESTAMP);
+
+        assertEquals(List.of(expectedResponse), firstPage.getContent());
+        when(dealRepository.findPageAfter(dealEntity.getTimestamp(), "D123", Limit.of(1))).thenReturn(List.of());
+
+        DealPage secondPage = dealService.getDealsPage(firstPage.getNextCursor(), 1, DealPageOrder.TIMESTAMP);
+
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getDealsPage_InvalidCursor_ThrowsException() {
+        assertThrows(InvalidCursorException.class,
+            () -> dealService.getDealsPage("not a cursor", 10, DealPageOrder.TIMESTAMP));
+    }
+
+    @Test
+    void findDeals_InvalidPair_ThrowsException() {
+        assertThrows(InvalidCurrencyCodeException.class,
+            () -> dealService.findDeals(null, null, "EUR/XXQ"));
+        verify(dealRepository, never()).findAll(any(Specification.class), any(Sort.class));
+    }
+}
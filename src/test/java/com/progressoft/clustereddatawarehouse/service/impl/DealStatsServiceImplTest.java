@@ -0,0 +1,82 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.progressoft.clustereddatawarehouse.model.dto.DealStats;
+import com.progressoft.clustereddatawarehouse.model.dto.StatsGranularity;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollup;
+import com.progressoft.clustereddatawarehouse.model.entity.DealRollupId;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRollupRepository;
+import com.progressoft.clustereddatawarehouse.rollup.DealRollupBuffer;
+
+@ExtendWith(MockitoExtension.class)
+class DealStatsServiceImplTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 15, 0, 0);
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Mock
+    private DealRollupRepository rollupRepository;
+
+    @Mock
+    private DealRollupBuffer rollupBuffer;
+
+    private DealStatsServiceImpl statsService;
+
+    @BeforeEach
+    void setup() {
+        statsService = new DealStatsServiceImpl(rollupRepository, rollupBuffer);
+    }
+
+    @Test
+    void getStats_AddsBufferedDeltasWithoutFlushing() {
+        when(rollupRepository.findAll(any(Specification.class))).thenReturn(List.of(
+            rollup(EUR, USD, DAY.plusHours(10), 2, "30", "10", "20")));
+        when(rollupBuffer.pending()).thenReturn(List.of(
+            rollup(EUR, USD, DAY.plusHours(10), 1, "5", "5", "5"),
+            rollup(USD, EUR, DAY.plusHours(10), 1, "7", "7", "7")));
+
+        List<DealStats> stats = statsService.getStats(null, null, "EUR/USD", StatsGranularity.HOUR);
+
+        assertEquals(List.of(new DealStats("EUR", "USD", DAY.plusHours(10), 3, new BigDecimal("35"),
+            new BigDecimal("5"), new BigDecimal("20"))), stats);
+        verify(rollupBuffer, never()).flush();
+    }
+
+    @Test
+    void getStats_Day_TruncatesFromToTheDayAndFoldsHours() {
+        when(rollupRepository.findAll(any(Specification.class))).thenReturn(List.of(
+            rollup(EUR, USD, DAY.plusHours(1), 1, "10", "10", "10"),
+            rollup(EUR, USD, DAY.plusHours(23), 1, "4", "4", "4")));
+        when(rollupBuffer.pending()).thenReturn(List.of(
+            rollup(EUR, USD, DAY.plusHours(2), 1, "6", "6", "6"),
+            rollup(EUR, USD, DAY.minusHours(1), 1, "100", "100", "100")));
+
+        List<DealStats> stats = statsService.getStats(DAY.plusHours(12), null, null, StatsGranularity.DAY);
+
+        assertEquals(List.of(new DealStats("EUR", "USD", DAY, 3, new BigDecimal("20"),
+            new BigDecimal("4"), new BigDecimal("10"))), stats);
+    }
+
+    private static DealRollup rollup(Currency from, Currency to, LocalDateTime hour, long count, String sum,
+                                     String min, String max) {
+        return new DealRollup(new DealRollupId(from, to, hour), count, new BigDecimal(sum), new BigDecimal(min),
+            new BigDecimal(max));
+    }
+}
@@ -0,0 +1,111 @@
+package com.progressoft.clustereddatawarehouse.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.progressoft.clustereddatawarehouse.config.IngestionProperties;
+import com.progressoft.clustereddatawarehouse.config.ShardingProperties;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoReq;
+import com.progressoft.clustereddatawarehouse.model.dto.DealDtoRes;
+import com.progressoft.clustereddatawarehouse.model.dto.DealErrorCode;
+import com.progressoft.clustereddatawarehouse.model.dto.DealOutcome;
+import com.progressoft.clustereddatawarehouse.sharding.DealShardRouter;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionedBatchIngestorTest {
+
+    @Mock
+    private BulkDealIngestor bulkDealIngestor;
+
+    private PartitionedBatchIngestor partitionedIngestor;
+
+    @BeforeEach
+    void setup() {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setChunkSize(2);
+        properties.setParallelism(4);
+        partitionedIngestor = new PartitionedBatchIngestor(bulkDealIngestor, properties,
+            new DealShardRouter(new ShardingProperties()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        partitionedIngestor.destroy();
+    }
+
+    @Test
+    void ingest_Parallel_PreservesInputOrderAndFirstOccurrenceWins() {
+        Set<String> persisted = ConcurrentHashMap.newKeySet();
+        when(bulkDealIngestor.ingest(anyList())).thenAnswer(inv -> {
+            List<DealOutcome> outcomes = new ArrayList<>();
+            for (Object request : inv.<List<?>>getArgument(0)) {
+                String id = ((DealDtoReq) request).getId();
+                outcomes.add(persisted.add(id) ? DealOutcome.success(response(id)) : DealOutcome.failure(id, DealErrorCode.ALREADY_IMPORTED, "dup"));
+            }
+            return outcomes;
+        });
+        List<DealDtoReq> requests = new ArrayList<>(IntStream.range(0, 40).mapToObj(i -> request("D" + i)).toList());
+        requests.add(request("D7"));
+        requests.add(request("D13"));
+
+        List<DealOutcome> outcomes = partitionedIngestor.ingest(requests);
+
+        assertEquals(requests.stream().map(DealDtoReq::getId).toList(),
+            outcomes.stream().map(DealOutcome::getId).toList());
+        assertTrue(outcomes.subList(0, 40).stream().allMatch(DealOutcome::isSuccess));
+        assertFalse(outcomes.get(40).isSuccess());
+        assertFalse(outcomes.get(41).isSuccess());
+    }
+
+    @Test
+    void ingest_DatabaseFailure_FailsOnlyAffectedChunk() {
+        when(bulkDealIngestor.ingest(anyList()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"))
+            .thenAnswer(inv -> List.of(DealOutcome.success(response("D3"))));
+
+        List<DealOutcome> outcomes = partitionedIngestor.ingest(List.of(request("D1"), request("D2"), request("D3")));
+
+        assertEquals(DealErrorCode.PERSISTENCE_FAILED, outcomes.get(0).getCode());
+        assertEquals(PartitionedBatchIngestor.PERSISTENCE_FAILED_MESSAGE, outcomes.get(0).getError());
+        assertEquals(PartitionedBatchIngestor.PERSISTENCE_FAILED_MESSAGE, outcomes.get(1).getError());
+        assertTrue(outcomes.get(2).isSuccess());
+    }
+
+    @Test
+    void ingest_DatabaseFailureWithoutMessage_CountsAsFailure() {
+        when(bulkDealIngestor.ingest(anyList())).thenThrow(new DataAccessResourceFailureException(null));
+
+        List<DealOutcome> outcomes = partitionedIngestor.ingest(List.of(request("D1")));
+
+        assertFalse(outcomes.get(0).isSuccess());
+        assertEquals(PartitionedBatchIngestor.PERSISTENCE_FAILED_MESSAGE, outcomes.get(0).getError());
+    }
+
+    private DealDtoReq request(String id) {
+        DealDtoReq request = new DealDtoReq();
+        request.setId(id);
+        return request;
+    }
+
+    private DealDtoRes response(String id) {
+        DealDtoRes response = new DealDtoRes();
+        response.setId(id);
+        return response;
+    }
+}
@@ -0,0 +1,84 @@
+package com.progressoft.clustereddatawarehouse.sharding;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.progressoft.clustereddatawarehouse.config.ShardingProperties;
+
+class DealShardRouterTest {
+
+    private static final List<String> IDS = IntStream.range(0, 20_000).mapToObj(i -> "FX" + i).toList();
+
+    @Test
+    void shardFor_SpreadsIdsEvenly() {
+        DealShardRouter router = router(4);
+
+        int[] counts = new int[4];
+        IDS.forEach(id -> counts[router.shardFor(id)]++);
+
+        for (int count : counts) {
+            assertTrue(count > IDS.size() / 4 * 0.8 && count < IDS.size() / 4 * 1.2, "uneven shard: " + count);
+        }
+        router.destroy();
+    }
+
+    @Test
+    void shardFor_AddingShard_MovesOnlyIdsToNewShard() {
+        DealShardRouter three = router(3);
+        DealShardRouter four = router(4);
+
+        long moved = IDS.stream().filter(id -> three.shardFor(id) != four.shardFor(id)).count();
+
+        assertTrue(IDS.stream().allMatch(id -> three.shardFor(id) == four.shardFor(id) || four.shardFor(id) == 3));
+        assertTrue(moved < IDS.size() / 4 * 1.2, "moved " + moved);
+        three.destroy();
+        four.destroy();
+    }
+
+    @Test
+    void onEachShard_BindsEachShardOnce() {
+        DealShardRouter router = router(3);
+
+        List<Integer> shards = router.onEachShard(DealShardRouter::currentShard);
+
+        assertEquals(List.of(0, 1, 2), shards);
+        assertNull(DealShardRouter.currentShard());
+        router.destroy();
+    }
+
+    @Test
+    void groupByShard_KeepsEveryIdOnItsShard() {
+        DealShardRouter router = router(2);
+
+        Map<Integer, List<String>> groups = router.groupByShard(IDS.subList(0, 100), id -> id);
+
+        assertEquals(100, groups.values().stream().mapToInt(List::size).sum());
+        groups.forEach((shard, ids) -> ids.forEach(id -> assertEquals(shard, router.shardFor(id))));
+        router.destroy();
+    }
+
+    @Test
+    void disabled_SingleShard() {
+        DealShardRouter router = new DealShardRouter(new ShardingProperties());
+
+        assertFalse(router.isSharded());
+        assertEquals(0, router.shardFor("FX1"));
+        assertEquals(List.of(0), router.onEachShard(DealShardRouter::currentShard));
+    }
+
+    private static DealShardRouter router(int shards) {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        for (int shard = 0; shard < shards; shard++) {
+            properties.getShards().add(new ShardingProperties.Shard());
+        }
+        return new DealShardRouter(properties);
+    }
+}
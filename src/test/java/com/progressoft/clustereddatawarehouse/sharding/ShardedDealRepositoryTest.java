@@ -0,0 +1,75 @@
+package com.progressoft.clustereddatawarehouse.sharding;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.progressoft.clustereddatawarehouse.config.ShardingProperties;
+import com.progressoft.clustereddatawarehouse.model.entity.Deal;
+import com.progressoft.clustereddatawarehouse.repositorie.DealRepository;
+
+@DataJpaTest(properties = {
+    "warehouse.sharding.enabled=true",
+    "warehouse.sharding.shards[0].url=jdbc:h2:mem:shard0;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=TIMESTAMP;DB_CLOSE_DELAY=-1",
+    "warehouse.sharding.shards[0].username=sa",
+    "warehouse.sharding.shards[1].url=jdbc:h2:mem:shard1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=TIMESTAMP;DB_CLOSE_DELAY=-1",
+    "warehouse.sharding.shards[1].username=sa",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ShardingConfiguration.class, ShardMigrationConfiguration.class, DealShardRouter.class})
+@EnableConfigurationProperties(ShardingProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShardedDealRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private DealShardRouter router;
+
+    @Test
+    void insert_RoutesEachDealToItsShard_AndScatterGatherSeesAll() {
+        List<Deal> deals = IntStream.range(0, 40).mapToObj(i -> deal("S" + i, BASE.plusMinutes(40 - i))).toList();
+        router.groupByShard(deals, Deal::getId)
+            .forEach((shard, owned) -> router.runOnShard(shard, () -> dealRepository.insertAllIgnoringDuplicates(owned)));
+
+        List<Long> counts = router.onEachShard(dealRepository::count);
+        assertEquals(2, counts.size());
+        assertEquals(40, counts.get(0) + counts.get(1));
+        assertTrue(counts.get(0) > 0 && counts.get(1) > 0);
+
+        for (Deal deal : deals) {
+            int owner = router.shardFor(deal.getId());
+            assertTrue(router.onShard(owner, () -> dealRepository.existsById(deal.getId())));
+            assertTrue(router.onShard(1 - owner, () -> dealRepository.findById(deal.getId())).isEmpty());
+        }
+
+        List<Deal> ordered = SortedMerge.merge(
+            router.onEachShard(() -> dealRepository.findAll(Sort.by("timestamp", "id"))),
+            Comparator.comparing(Deal::getTimestamp).thenComparing(Deal::getId));
+        assertEquals(IntStream.range(0, 40).mapToObj(i -> "S" + (39 - i)).toList(),
+            ordered.stream().map(Deal::getId).toList());
+    }
+
+    private static Deal deal(String id, LocalDateTime timestamp) {
+        return new Deal(id, Currency.getInstance("USD"), Currency.getInstance("EUR"), timestamp, BigDecimal.TEN);
+    }
+}
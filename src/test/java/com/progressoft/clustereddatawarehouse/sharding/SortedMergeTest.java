@@ -0,0 +1,26 @@
+package com.progressoft.clustereddatawarehouse.sharding;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class SortedMergeTest {
+
+    @Test
+    void merge_InterleavesSortedLists() {
+        List<Integer> merged = SortedMerge.merge(List.of(List.of(1, 4, 7), List.of(), List.of(2, 3, 9)),
+            Comparator.naturalOrder());
+
+        assertEquals(List.of(1, 2, 3, 4, 7, 9), merged);
+    }
+
+    @Test
+    void merge_WithLimit_StopsEarly() {
+        List<Integer> merged = SortedMerge.merge(List.of(List.of(1, 4, 7), List.of(2, 3, 9)),
+            Comparator.naturalOrder(), 3);
+
+        assertEquals(List.of(1, 2, 3), merged);
+    }
+}
@@ -0,0 +1,28 @@
+package com.progressoft.clustereddatawarehouse.validation;
+
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+class CurrencyCodesTest {
+
+    @Test
+    void lookup_MatchesJdkForEveryAvailableCurrency() {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            assertSame(currency, CurrencyCodes.lookup(currency.getCurrencyCode()));
+        }
+    }
+
+    @Test
+    void lookup_RejectsMalformedAndUnknownCodes() {
+        assertNull(CurrencyCodes.lookup(null));
+        assertNull(CurrencyCodes.lookup("usd"));
+        assertNull(CurrencyCodes.lookup("US"));
+        assertNull(CurrencyCodes.lookup("USDX"));
+        assertNull(CurrencyCodes.lookup("U$D"));
+        assertFalse(CurrencyCodes.isValid("XXQ"));
+    }
+}